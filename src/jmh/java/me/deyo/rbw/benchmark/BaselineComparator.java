@@ -0,0 +1,109 @@
+package me.deyo.rbw.benchmark;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public final class BaselineComparator {
+    
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    private static final double MIN_ALLOCATION_DELTA_BYTES = 16.0;
+    
+    private BaselineComparator() {
+    }
+    
+    public static void main(String[] args) throws IOException {
+        Path results = Paths.get(System.getProperty("jmh.results", "target/jmh/results.json"));
+        Path baseline = Paths.get(System.getProperty("jmh.baseline", "src/jmh/baselines/results.json"));
+        double tolerance = Double.parseDouble(System.getProperty("jmh.baseline.tolerance", "0.15"));
+        
+        if (!Files.exists(results)) {
+            throw new IllegalStateException("No benchmark results at " + results);
+        }
+        
+        if (Boolean.getBoolean("jmh.baseline.update")) {
+            if (baseline.getParent() != null) {
+                Files.createDirectories(baseline.getParent());
+            }
+            Files.copy(results, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline updated: " + baseline);
+            return;
+        }
+        
+        if (!Files.exists(baseline)) {
+            throw new IllegalStateException("No baseline at " + baseline + "; run with -Djmh.baseline.update=true on the reference machine to record one");
+        }
+        
+        Map<String, double[]> expected = load(baseline);
+        Map<String, double[]> actual = load(results);
+        List<String> regressions = new ArrayList<>();
+        
+        System.out.println(String.format("%-90s %12s %12s %8s %12s %12s", "benchmark", "base ns", "now ns", "delta", "base B/op", "now B/op"));
+        for (Map.Entry<String, double[]> entry : actual.entrySet()) {
+            double[] now = entry.getValue();
+            double[] base = expected.get(entry.getKey());
+            if (base == null) {
+                System.out.println(String.format("%-90s %12s %12.1f %8s %12s %12.1f", entry.getKey(), "-", now[0], "new", "-", now[1]));
+                continue;
+            }
+            
+            double delta = base[0] > 0.0 ? (now[0] - base[0]) / base[0] : 0.0;
+            System.out.println(String.format("%-90s %12.1f %12.1f %+7.1f%% %12.1f %12.1f",
+                entry.getKey(), base[0], now[0], delta * 100.0, base[1], now[1]));
+            
+            if (delta > tolerance) {
+                regressions.add(String.format("%s: %.1f ns/op vs baseline %.1f ns/op", entry.getKey(), now[0], base[0]));
+            }
+            if (now[1] - base[1] > MIN_ALLOCATION_DELTA_BYTES && now[1] > base[1] * (1.0 + tolerance)) {
+                regressions.add(String.format("%s: %.1f B/op vs baseline %.1f B/op", entry.getKey(), now[1], base[1]));
+            }
+        }
+        
+        if (!regressions.isEmpty()) {
+            throw new IllegalStateException("Benchmark regressions against " + baseline + ":\n  " + String.join("\n  ", regressions));
+        }
+        System.out.println("No regressions against " + baseline);
+    }
+    
+    private static Map<String, double[]> load(Path file) throws IOException {
+        Map<String, double[]> scores = new TreeMap<>();
+        JsonArray runs = JsonParser.parseString(new String(Files.readAllBytes(file), StandardCharsets.UTF_8)).getAsJsonArray();
+        for (JsonElement element : runs) {
+            JsonObject run = element.getAsJsonObject();
+            double allocation = 0.0;
+            if (run.has("secondaryMetrics")) {
+                for (Map.Entry<String, JsonElement> metric : run.getAsJsonObject("secondaryMetrics").entrySet()) {
+                    if (metric.getKey().endsWith(ALLOCATION_METRIC)) {
+                        allocation = metric.getValue().getAsJsonObject().get("score").getAsDouble();
+                    }
+                }
+            }
+            scores.put(key(run), new double[]{run.getAsJsonObject("primaryMetric").get("score").getAsDouble(), allocation});
+        }
+        return scores;
+    }
+    
+    private static String key(JsonObject run) {
+        StringBuilder key = new StringBuilder(run.get("benchmark").getAsString().replace("me.deyo.rbw.", ""));
+        if (run.has("params")) {
+            Map<String, String> params = new TreeMap<>();
+            for (Map.Entry<String, JsonElement> param : run.getAsJsonObject("params").entrySet()) {
+                params.put(param.getKey(), param.getValue().getAsString());
+            }
+            key.append(params);
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,87 @@
+package me.deyo.rbw.benchmark;
+
+import me.deyo.rbw.RBWPlugin;
+import org.bukkit.Server;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.PluginLogger;
+import org.bukkit.plugin.java.JavaPlugin;
+import sun.misc.Unsafe;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public final class BenchmarkPlugin {
+    
+    private BenchmarkPlugin() {
+    }
+    
+    public static RBWPlugin create() {
+        try {
+            RBWPlugin plugin = (RBWPlugin) unsafe().allocateInstance(RBWPlugin.class);
+            
+            File dataFolder = Files.createTempDirectory("rbw-bench").toFile();
+            dataFolder.deleteOnExit();
+            writeConfig(new File(dataFolder, "config.yml"));
+            
+            setField(JavaPlugin.class, plugin, "server", server());
+            setField(JavaPlugin.class, plugin, "description", new PluginDescriptionFile("RBW", "bench", RBWPlugin.class.getName()));
+            setField(JavaPlugin.class, plugin, "dataFolder", dataFolder);
+            
+            PluginLogger logger = new PluginLogger(plugin);
+            logger.setLevel(Level.OFF);
+            setField(JavaPlugin.class, plugin, "logger", logger);
+            
+            Method initializeServices = RBWPlugin.class.getDeclaredMethod("initializeServices");
+            initializeServices.setAccessible(true);
+            initializeServices.invoke(plugin);
+            return plugin;
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to create benchmark plugin", e);
+        }
+    }
+    
+    private static void writeConfig(File file) throws Exception {
+        YamlConfiguration config;
+        try (InputStream defaults = RBWPlugin.class.getClassLoader().getResourceAsStream("config.yml")) {
+            config = defaults != null
+                ? YamlConfiguration.loadConfiguration(new InputStreamReader(defaults, StandardCharsets.UTF_8))
+                : new YamlConfiguration();
+        }
+        config.set("performance.websocket.outbox.enabled", false);
+        config.save(file);
+    }
+    
+    private static Server server() {
+        Logger logger = Logger.getLogger("rbw-bench");
+        logger.setLevel(Level.OFF);
+        return (Server) Proxy.newProxyInstance(Server.class.getClassLoader(), new Class<?>[]{Server.class}, (proxy, method, args) -> {
+            if ("getLogger".equals(method.getName())) {
+                return logger;
+            }
+            Class<?> returnType = method.getReturnType();
+            return returnType.isPrimitive() && returnType != void.class ? Array.get(Array.newInstance(returnType, 1), 0) : null;
+        });
+    }
+    
+    private static void setField(Class<?> owner, Object target, String name, Object value) throws Exception {
+        Field field = owner.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+    
+    private static Unsafe unsafe() throws Exception {
+        Field field = Unsafe.class.getDeclaredField("theUnsafe");
+        field.setAccessible(true);
+        return (Unsafe) field.get(null);
+    }
+}
@@ -0,0 +1,73 @@
+package me.deyo.rbw.benchmark;
+
+import me.deyo.rbw.model.Game;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class Fixtures {
+    
+    private Fixtures() {
+    }
+    
+    public static List<String> players(String prefix, int count) {
+        List<String> players = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            players.add(prefix + "_" + i);
+        }
+        return players;
+    }
+    
+    public static Game playedGame(String gameId, int teamSize) {
+        Game game = new Game(gameId, "arena-" + gameId, players(gameId + "a", teamSize), players(gameId + "b", teamSize));
+        game.startGame();
+        
+        int seed = 0;
+        for (String player : game.getTeam1Players()) {
+            populate(game.getOrCreatePlayerStats(player), seed++);
+        }
+        for (String player : game.getTeam2Players()) {
+            populate(game.getOrCreatePlayerStats(player), seed++);
+        }
+        return game;
+    }
+    
+    private static void populate(Game.PlayerStats stats, int seed) {
+        stats.addKills(seed % 7);
+        stats.addDeaths(seed % 5);
+        stats.addFinalKills(seed % 3);
+        stats.addBedsBroken(seed % 4 == 0 ? 1 : 0);
+        stats.addDiamonds(seed * 2);
+        stats.addIrons(seed * 40);
+        stats.addGold(seed * 12);
+        stats.addEmeralds(seed % 6);
+        stats.addBlocksPlaced(seed * 25);
+    }
+    
+    public static String warpFrame(int teamSize) {
+        StringBuilder frame = new StringBuilder("{\"type\":\"WARP_PLAYERS\",\"request_id\":\"req-1\",\"game_id\":\"1232\",\"map\":\"random\",\"is_ranked\":true");
+        appendTeam(frame, "team1", players("red", teamSize));
+        appendTeam(frame, "team2", players("blue", teamSize));
+        return frame.append('}').toString();
+    }
+    
+    public static String queueStatusFrame(int queues, int playersPerQueue) {
+        StringBuilder frame = new StringBuilder("{\"type\":\"QUEUESTATUS\",\"version\":7,\"queues\":{");
+        for (int q = 0; q < queues; q++) {
+            if (q > 0) frame.append(',');
+            frame.append("\"queue-").append(q).append("\":{");
+            appendTeam(frame.append("\"capacity\":8"), "players", players("q" + q, playersPerQueue));
+            frame.append(",\"elo_range\":{\"min\":").append(q * 100).append(",\"max\":").append(q * 100 + 99).append("}}");
+        }
+        return frame.append("}}").toString();
+    }
+    
+    private static void appendTeam(StringBuilder frame, String key, List<String> players) {
+        frame.append(",\"").append(key).append("\":[");
+        for (int i = 0; i < players.size(); i++) {
+            if (i > 0) frame.append(',');
+            frame.append("{\"ign\":\"").append(players.get(i)).append("\"}");
+        }
+        frame.append(']');
+    }
+}
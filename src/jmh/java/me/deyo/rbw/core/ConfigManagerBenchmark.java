@@ -0,0 +1,41 @@
+package me.deyo.rbw.core;
+
+import me.deyo.rbw.benchmark.BenchmarkPlugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigManagerBenchmark {
+    
+    private static final String[] GROUPS = {"Solo", "Doubles", "RBW_4v4", "rbw-duels", "3v3v3v3", "Squad", "RBW", "Default"};
+    
+    private ConfigManager configManager;
+    private int cursor;
+    
+    @Setup
+    public void setup() {
+        configManager = BenchmarkPlugin.create().getConfigManager();
+    }
+    
+    @Benchmark
+    public boolean isRBWMode() {
+        String group = GROUPS[cursor];
+        cursor = (cursor + 1) & (GROUPS.length - 1);
+        return configManager.isRBWMode(group);
+    }
+}
@@ -0,0 +1,55 @@
+package me.deyo.rbw.core;
+
+import me.deyo.rbw.benchmark.BenchmarkPlugin;
+import me.deyo.rbw.benchmark.Fixtures;
+import me.deyo.rbw.model.Game;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameManagerBenchmark {
+    
+    @Param({"100", "500"})
+    public int games;
+    
+    private GameManager gameManager;
+    private String[] lookups;
+    private int cursor;
+    
+    @Setup
+    public void setup() {
+        gameManager = new GameManager(BenchmarkPlugin.create());
+        for (int i = 0; i < games; i++) {
+            String gameId = "game" + i;
+            gameManager.registerGame(gameId, "arena-" + i, Fixtures.players(gameId + "a", 4), Fixtures.players(gameId + "b", 4));
+        }
+        
+        lookups = new String[1024];
+        for (int i = 0; i < lookups.length; i++) {
+            lookups[i] = i % 4 == 3 ? "Lobby_" + i : "game" + (i * 31 % games) + (i % 2 == 0 ? "a_" : "b_") + (i % 4);
+        }
+    }
+    
+    @Benchmark
+    public Game getGameByPlayer() {
+        String player = lookups[cursor];
+        cursor = (cursor + 1) & (lookups.length - 1);
+        return gameManager.getGameByPlayer(player);
+    }
+}
@@ -0,0 +1,62 @@
+package me.deyo.rbw.core.outbound;
+
+import com.google.gson.JsonObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OutboundJsonBenchmark {
+    
+    private static final String PLAYER_STATUS_PREFIX = OutboundJson.typePrefix("PLAYER_STATUS");
+    private static final String PONG_PREFIX = OutboundJson.typePrefix("PONG");
+    private static final String IGN_KEY = OutboundJson.key("ign");
+    private static final String ONLINE_KEY = OutboundJson.key("online");
+    private static final String TIMESTAMP_KEY = OutboundJson.key("timestamp");
+    private static final String REQUEST_ID_KEY = OutboundJson.key("request_id");
+    
+    private final String playerName = "Steve";
+    private final String requestId = "req-1";
+    private final double timestamp = 1760000000.123;
+    
+    @Benchmark
+    public String playerStatusWriter() {
+        return OutboundJson.start(PLAYER_STATUS_PREFIX).field(IGN_KEY, playerName).field(ONLINE_KEY, true).finish();
+    }
+    
+    @Benchmark
+    public String playerStatusTree() {
+        JsonObject response = new JsonObject();
+        response.addProperty("type", "PLAYER_STATUS");
+        response.addProperty("ign", playerName);
+        response.addProperty("online", true);
+        return response.toString();
+    }
+    
+    @Benchmark
+    public String pongWriter() {
+        return OutboundJson.start(PONG_PREFIX).field(TIMESTAMP_KEY, timestamp).field(REQUEST_ID_KEY, requestId).finish();
+    }
+    
+    @Benchmark
+    public String pongTree() {
+        JsonObject response = new JsonObject();
+        response.addProperty("type", "PONG");
+        response.addProperty("timestamp", timestamp);
+        response.addProperty("request_id", requestId);
+        return response.toString();
+    }
+}
@@ -0,0 +1,45 @@
+package me.deyo.rbw.listeners;
+
+import me.deyo.rbw.benchmark.BenchmarkPlugin;
+import me.deyo.rbw.benchmark.Fixtures;
+import me.deyo.rbw.model.Game;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoringPayloadBenchmark {
+    
+    @Param({"1", "4"})
+    public int teamSize;
+    
+    private GameListener gameListener;
+    private Game game;
+    
+    @Setup
+    public void setup() {
+        gameListener = new GameListener(BenchmarkPlugin.create());
+        game = Fixtures.playedGame("bench", teamSize);
+        game.recalculateAwards();
+    }
+    
+    @Benchmark
+    public String buildScoringPayload() {
+        return gameListener.buildScoringPayload(game, 1);
+    }
+}
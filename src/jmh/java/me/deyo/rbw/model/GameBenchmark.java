@@ -0,0 +1,42 @@
+package me.deyo.rbw.model;
+
+import me.deyo.rbw.benchmark.Fixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameBenchmark {
+    
+    @Param({"1", "4"})
+    public int teamSize;
+    
+    private Game game;
+    
+    @Setup
+    public void setup() {
+        game = Fixtures.playedGame("bench", teamSize);
+    }
+    
+    @Benchmark
+    public Set<String> recalculateAwards() {
+        game.recalculateAwards();
+        return game.getMvps();
+    }
+}
@@ -0,0 +1,73 @@
+package me.deyo.rbw.service;
+
+import me.deyo.rbw.RBWPlugin;
+import me.deyo.rbw.benchmark.BenchmarkPlugin;
+import me.deyo.rbw.benchmark.Fixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageServiceBenchmark {
+    
+    @Param({"PING", "ACK", "SERVER_STATUS", "PLAYER_STATUS", "CHECK_PLAYER", "WARP_PLAYERS",
+        "QUEUESTATUS", "QUEUE_DELTA", "VERIFICATION_CODE"})
+    public String type;
+    
+    private RBWPlugin plugin;
+    private MessageService messageService;
+    private String frame;
+    
+    @Setup
+    public void setup() {
+        plugin = BenchmarkPlugin.create();
+        messageService = new MessageService(plugin.getWebSocketManager(), plugin);
+        frame = frameFor(type);
+    }
+    
+    static String frameFor(String type) {
+        switch (type) {
+            case "PING":
+                return "{\"type\":\"PING\",\"request_id\":\"req-1\"}";
+            case "ACK":
+                return "{\"type\":\"ACK\",\"seq\":42}";
+            case "SERVER_STATUS":
+                return "{\"type\":\"SERVER_STATUS\",\"status\":\"ok\"}";
+            case "PLAYER_STATUS":
+                return "{\"type\":\"PLAYER_STATUS\",\"ign\":\"Steve\",\"online\":true}";
+            case "CHECK_PLAYER":
+                return "{\"type\":\"CHECK_PLAYER\",\"ign\":\"Steve\",\"request_id\":\"req-2\"}";
+            case "WARP_PLAYERS":
+                return Fixtures.warpFrame(4);
+            case "QUEUESTATUS":
+                return Fixtures.queueStatusFrame(8, 6);
+            case "QUEUE_DELTA":
+                return "{\"type\":\"QUEUE_DELTA\",\"version\":8,\"changes\":[{\"queue\":\"queue-1\",\"op\":\"join\",\"ign\":\"Steve\"}]}";
+            case "VERIFICATION_CODE":
+                return "{\"type\":\"VERIFICATION_CODE\",\"ign\":\"Steve\",\"code\":\"482913\"}";
+            default:
+                throw new IllegalArgumentException("No fixture for " + type);
+        }
+    }
+    
+    @Benchmark
+    public void handleMessage() {
+        messageService.handleMessage(frame);
+        plugin.getInboundDispatcher().stop();
+    }
+}
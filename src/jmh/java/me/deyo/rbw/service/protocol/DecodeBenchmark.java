@@ -0,0 +1,67 @@
+package me.deyo.rbw.service.protocol;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import me.deyo.rbw.benchmark.Fixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DecodeBenchmark {
+    
+    @Param({"PING", "WARP_PLAYERS", "QUEUESTATUS"})
+    public String type;
+    
+    private String frame;
+    
+    @Setup
+    public void setup() {
+        switch (type) {
+            case "PING":
+                frame = "{\"type\":\"PING\",\"request_id\":\"req-1\"}";
+                break;
+            case "WARP_PLAYERS":
+                frame = Fixtures.warpFrame(4);
+                break;
+            default:
+                frame = Fixtures.queueStatusFrame(8, 6);
+        }
+    }
+    
+    @Benchmark
+    public JsonObject tree() {
+        JsonObject json = JsonParser.parseString(frame).getAsJsonObject();
+        json.get("type").getAsString().toUpperCase();
+        return json;
+    }
+    
+    @Benchmark
+    public InboundMessage streaming() throws IOException {
+        String normalizedType = MessageDecoder.normalizeType(MessageDecoder.peekType(frame));
+        switch (normalizedType) {
+            case "PING":
+                return MessageDecoder.decodePing(normalizedType, frame);
+            case "WARPPLAYERS":
+                return MessageDecoder.decodeWarpPlayers(normalizedType, frame);
+            default:
+                return MessageDecoder.decodeQueueStatus(normalizedType, frame);
+        }
+    }
+}
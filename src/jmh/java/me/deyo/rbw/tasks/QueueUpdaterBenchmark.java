@@ -0,0 +1,69 @@
+package me.deyo.rbw.tasks;
+
+import me.deyo.rbw.benchmark.BenchmarkPlugin;
+import me.deyo.rbw.benchmark.Fixtures;
+import me.deyo.rbw.model.QueueInfo;
+import me.deyo.rbw.model.QueueSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueueUpdaterBenchmark {
+    
+    @Param({"4", "16"})
+    public int queues;
+    
+    @Param({"8", "64"})
+    public int playersPerQueue;
+    
+    private QueueUpdater queueUpdater;
+    private QueueSnapshot snapshot;
+    private String[] onlinePlayers;
+    private int cursor;
+    
+    @Setup
+    public void setup() {
+        Map<String, QueueInfo> queueMap = new HashMap<>();
+        for (int q = 0; q < queues; q++) {
+            List<String> players = Fixtures.players("Queue" + q, playersPerQueue);
+            queueMap.put("queue-" + q, new QueueInfo(players, new QueueInfo.EloRange(q * 100, q * 100 + 99), 8));
+        }
+        snapshot = QueueSnapshot.EMPTY.next(queueMap, 1L);
+        
+        queueUpdater = new QueueUpdater(BenchmarkPlugin.create());
+        queueUpdater.rebuildMessages(snapshot);
+        
+        onlinePlayers = new String[queues * playersPerQueue * 2];
+        for (int i = 0; i < onlinePlayers.length; i++) {
+            onlinePlayers[i] = i % 2 == 0
+                ? "queue" + (i / 2 % queues) + "_" + (i / 2 / queues)
+                : "Lobby_" + i;
+        }
+    }
+    
+    @Benchmark
+    public String getQueueMessage() {
+        String player = onlinePlayers[cursor];
+        cursor = cursor + 1 == onlinePlayers.length ? 0 : cursor + 1;
+        return queueUpdater.getQueueMessage(player, snapshot);
+    }
+}
@@ -0,0 +1,188 @@
+package me.deyo.rbw.loadtest;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.java_websocket.WebSocket;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.server.WebSocketServer;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+public class BotServer extends WebSocketServer {
+    
+    public static final String PATH = "/rbw/websocket";
+    
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final Map<String, Long> pendingRequests = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> unsolicited = new ConcurrentHashMap<>();
+    private final AtomicLong requestCounter = new AtomicLong();
+    private final AtomicLong connections = new AtomicLong();
+    private final Semaphore inFlight;
+    private final Object connectionLock = new Object();
+    private volatile WebSocket pluginConnection;
+    private volatile Supplier<JsonObject> resyncResponder;
+    
+    public BotServer(int port, int maxInFlight) {
+        super(new InetSocketAddress(port));
+        this.inFlight = new Semaphore(maxInFlight);
+        setReuseAddr(true);
+    }
+    
+    @Override
+    public void onStart() {
+        System.out.println("Bot server listening on port " + getPort() + PATH);
+    }
+    
+    @Override
+    public void onOpen(WebSocket conn, ClientHandshake handshake) {
+        if (!PATH.equals(handshake.getResourceDescriptor())) {
+            conn.close(1008, "Invalid path");
+            return;
+        }
+        
+        synchronized (connectionLock) {
+            pluginConnection = conn;
+            connections.incrementAndGet();
+            connectionLock.notifyAll();
+        }
+    }
+    
+    @Override
+    public void onClose(WebSocket conn, int code, String reason, boolean remote) {
+        synchronized (connectionLock) {
+            if (conn == pluginConnection) {
+                pluginConnection = null;
+            }
+        }
+    }
+    
+    @Override
+    public void onMessage(WebSocket conn, String message) {
+        long receivedAt = System.nanoTime();
+        JsonObject json = JsonParser.parseString(message).getAsJsonObject();
+        
+        if ("BATCH".equals(typeOf(json)) && json.has("messages")) {
+            for (JsonElement element : json.getAsJsonArray("messages")) {
+                handleReply(conn, element.getAsJsonObject(), receivedAt);
+            }
+        } else {
+            handleReply(conn, json, receivedAt);
+        }
+    }
+    
+    @Override
+    public void onError(WebSocket conn, Exception ex) {
+        System.err.println("Bot server error: " + ex.getMessage());
+    }
+    
+    private void handleReply(WebSocket conn, JsonObject json, long receivedAt) {
+        String type = typeOf(json);
+        
+        if (json.has("seq")) {
+            JsonObject ack = new JsonObject();
+            ack.addProperty("type", "ACK");
+            ack.addProperty("seq", json.get("seq").getAsLong());
+            conn.send(ack.toString());
+        }
+        
+        if ("QUEUE_RESYNC".equals(type) && resyncResponder != null) {
+            conn.send(resyncResponder.get().toString());
+        }
+        
+        String requestId = json.has("request_id") && !json.get("request_id").isJsonNull() ? json.get("request_id").getAsString() : null;
+        Long sentAt = requestId != null ? pendingRequests.remove(requestId) : null;
+        if (sentAt != null) {
+            recorder.record(type, receivedAt - sentAt);
+            inFlight.release();
+        } else {
+            unsolicited.computeIfAbsent(type, key -> new AtomicLong()).incrementAndGet();
+        }
+    }
+    
+    private static String typeOf(JsonObject json) {
+        return json.has("type") ? json.get("type").getAsString() : "UNKNOWN";
+    }
+    
+    public WebSocket awaitConnection(long previousConnections, int timeoutSeconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        synchronized (connectionLock) {
+            while (pluginConnection == null || connections.get() <= previousConnections) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0L) {
+                    return null;
+                }
+                TimeUnit.NANOSECONDS.timedWait(connectionLock, remaining);
+            }
+            return pluginConnection;
+        }
+    }
+    
+    public String request(JsonObject message, int timeoutSeconds) throws InterruptedException {
+        if (!inFlight.tryAcquire(timeoutSeconds, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Timed out waiting for in-flight replies");
+        }
+        
+        String requestId = "lt-" + requestCounter.incrementAndGet();
+        message.addProperty("request_id", requestId);
+        pendingRequests.put(requestId, System.nanoTime());
+        if (!send(message)) {
+            pendingRequests.remove(requestId);
+            inFlight.release();
+            return null;
+        }
+        return requestId;
+    }
+    
+    public boolean send(JsonObject message) {
+        WebSocket connection = pluginConnection;
+        if (connection == null || !connection.isOpen()) {
+            return false;
+        }
+        
+        connection.send(message.toString());
+        return true;
+    }
+    
+    public int awaitReplies(int timeoutSeconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        while (!pendingRequests.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(5L);
+        }
+        
+        int outstanding = pendingRequests.size();
+        inFlight.release(outstanding);
+        pendingRequests.clear();
+        return outstanding;
+    }
+    
+    public void dropConnection() {
+        WebSocket connection = pluginConnection;
+        if (connection != null) {
+            connection.close(1001, "Load test reconnect cycle");
+        }
+    }
+    
+    public void setResyncResponder(Supplier<JsonObject> resyncResponder) {
+        this.resyncResponder = resyncResponder;
+    }
+    
+    public LatencyRecorder getRecorder() {
+        return recorder;
+    }
+    
+    public long getConnectionCount() {
+        return connections.get();
+    }
+    
+    public long getUnsolicitedCount(String type) {
+        AtomicLong count = unsolicited.get(type);
+        return count != null ? count.get() : 0L;
+    }
+}
@@ -0,0 +1,295 @@
+package me.deyo.rbw.loadtest;
+
+import com.andrei1058.bedwars.api.BedWars;
+import com.andrei1058.bedwars.api.arena.GameState;
+import com.andrei1058.bedwars.api.arena.IArena;
+import com.andrei1058.bedwars.api.arena.team.ITeam;
+import me.deyo.rbw.RBWPlugin;
+import me.deyo.rbw.service.game.GameSetupService;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class HeadlessBedWars {
+    
+    private static final String GROUP = "RBW";
+    
+    private final Map<String, Player> players = new ConcurrentHashMap<>();
+    private final Map<Player, Arena> arenaByPlayer = new ConcurrentHashMap<>();
+    private final List<Arena> arenas = new ArrayList<>();
+    private final int countdownTicks;
+    private final int gameTicks;
+    private volatile RBWPlugin plugin;
+    
+    public HeadlessBedWars(int arenaCount, int teamSize, int countdownTicks, int gameTicks) {
+        this.countdownTicks = countdownTicks;
+        this.gameTicks = gameTicks;
+        for (int i = 0; i < arenaCount; i++) {
+            arenas.add(new Arena("loadtest_" + i, teamSize));
+        }
+    }
+    
+    public void attach(RBWPlugin plugin) {
+        this.plugin = plugin;
+    }
+    
+    public BedWars asBedWars() {
+        BedWars.IArenaUtil arenaUtil = proxy(BedWars.IArenaUtil.class, (method, args) -> {
+            switch (method.getName()) {
+                case "getArenas":
+                    LinkedList<IArena> all = new LinkedList<>();
+                    for (Arena arena : arenas) {
+                        all.add(arena.proxy);
+                    }
+                    return all;
+                case "getArenaByName":
+                    for (Arena arena : arenas) {
+                        if (arena.name.equalsIgnoreCase((String) args[0])) {
+                            return arena.proxy;
+                        }
+                    }
+                    return null;
+                case "getArenaByPlayer":
+                    Arena arena = arenaByPlayer.get((Player) args[0]);
+                    return arena != null ? arena.proxy : null;
+                case "isPlaying":
+                    return arenaByPlayer.containsKey((Player) args[0]);
+                default:
+                    return defaultValue(method);
+            }
+        });
+        return proxy(BedWars.class, (method, args) -> "getArenaUtil".equals(method.getName()) ? arenaUtil : defaultValue(method));
+    }
+    
+    public Player getPlayer(String name) {
+        return players.computeIfAbsent(name.toLowerCase(Locale.ROOT), key -> newPlayer(name));
+    }
+    
+    public Collection<Player> getOnlinePlayers() {
+        return players.values();
+    }
+    
+    private Player newPlayer(String name) {
+        UUID uuid = UUID.nameUUIDFromBytes(("OfflinePlayer:" + name).getBytes(StandardCharsets.UTF_8));
+        return proxy(Player.class, (method, args) -> {
+            switch (method.getName()) {
+                case "getName":
+                case "getDisplayName":
+                    return name;
+                case "getUniqueId":
+                    return uuid;
+                case "isOnline":
+                    return true;
+                default:
+                    return defaultValue(method);
+            }
+        });
+    }
+    
+    private void scheduleLater(Runnable task, long ticks) {
+        RBWPlugin current = plugin;
+        if (current != null) {
+            current.getServer().getScheduler().runTaskLater(current, task, ticks);
+        }
+    }
+    
+    private class Arena {
+        private final String name;
+        private final int teamSize;
+        private final World world;
+        private final Location waiting;
+        private final List<ITeam> teams = new ArrayList<>();
+        private final List<Player> members = new ArrayList<>();
+        private final IArena proxy;
+        private volatile GameState status = GameState.waiting;
+        
+        private Arena(String name, int teamSize) {
+            this.name = name;
+            this.teamSize = teamSize;
+            this.world = newWorld(name);
+            this.waiting = new Location(world, 0, 64, 0);
+            teams.add(newTeam("Red", new Location(world, -48, 64, 0)));
+            teams.add(newTeam("Blue", new Location(world, 48, 64, 0)));
+            this.proxy = proxy(IArena.class, this::invoke);
+        }
+        
+        private Object invoke(Method method, Object[] args) {
+            switch (method.getName()) {
+                case "getArenaName":
+                case "getDisplayName":
+                case "getWorldName":
+                    return name;
+                case "getGroup":
+                    return GROUP;
+                case "getStatus":
+                    return status;
+                case "getMaxPlayers":
+                    return teamSize * teams.size();
+                case "getMaxInTeam":
+                    return teamSize;
+                case "getTeams":
+                    return new LinkedList<>(teams);
+                case "getPlayers":
+                    synchronized (members) {
+                        return new LinkedList<>(members);
+                    }
+                case "getWorld":
+                    return world;
+                case "getWaitingLocation":
+                    return waiting;
+                case "isPlayer":
+                    synchronized (members) {
+                        return members.contains((Player) args[0]);
+                    }
+                case "addPlayer":
+                    return addPlayer((Player) args[0]);
+                case "removePlayer":
+                    removePlayer((Player) args[0]);
+                    return null;
+                case "changeStatus":
+                    changeStatus((GameState) args[0]);
+                    return null;
+                default:
+                    return defaultValue(method);
+            }
+        }
+        
+        private boolean addPlayer(Player player) {
+            synchronized (members) {
+                if (status != GameState.waiting && status != GameState.starting || members.size() >= teamSize * teams.size()) {
+                    return false;
+                }
+                members.add(player);
+            }
+            arenaByPlayer.put(player, this);
+            return true;
+        }
+        
+        private void removePlayer(Player player) {
+            synchronized (members) {
+                members.remove(player);
+            }
+            arenaByPlayer.remove(player, this);
+        }
+        
+        private void changeStatus(GameState next) {
+            status = next;
+            if (next == GameState.starting) {
+                scheduleLater(this::startGame, countdownTicks);
+            }
+        }
+        
+        private void startGame() {
+            if (status != GameState.starting) {
+                return;
+            }
+            
+            status = GameState.playing;
+            GameSetupService.handleStateChange(plugin, proxy, GameState.playing);
+            plugin.getArenaPool().refresh(proxy);
+            scheduleLater(this::restart, gameTicks);
+        }
+        
+        private void restart() {
+            status = GameState.restarting;
+            synchronized (members) {
+                for (Player player : members) {
+                    arenaByPlayer.remove(player, this);
+                }
+                members.clear();
+            }
+            
+            GameSetupService.getArenaToGameMapping().remove(name);
+            plugin.getGameManager().unregisterGameByArena(name);
+            plugin.getArenaLeaseManager().release(name);
+            plugin.getChunkPreloader().release(name);
+            plugin.getArenaPool().untrack(name);
+            
+            status = GameState.waiting;
+            plugin.getArenaPool().track(proxy);
+        }
+    }
+    
+    private static ITeam newTeam(String name, Location spawn) {
+        return proxy(ITeam.class, (method, args) -> {
+            switch (method.getName()) {
+                case "getName":
+                    return name;
+                case "getSpawn":
+                    return spawn;
+                case "getMembers":
+                    return new LinkedList<Player>();
+                default:
+                    return defaultValue(method);
+            }
+        });
+    }
+    
+    private static World newWorld(String name) {
+        Set<Long> loaded = ConcurrentHashMap.newKeySet();
+        return proxy(World.class, (method, args) -> {
+            switch (method.getName()) {
+                case "getName":
+                    return name;
+                case "isChunkLoaded":
+                    return args.length == 2 && loaded.contains(chunk((Integer) args[0], (Integer) args[1]));
+                case "loadChunk":
+                    if (args.length >= 2 && args[0] instanceof Integer) {
+                        loaded.add(chunk((Integer) args[0], (Integer) args[1]));
+                    }
+                    return method.getReturnType() == boolean.class ? Boolean.TRUE : null;
+                default:
+                    return defaultValue(method);
+            }
+        });
+    }
+    
+    private static long chunk(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+    
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        return type.getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+                }
+            }
+            return handler.invoke(method, args != null ? args : new Object[0]);
+        }));
+    }
+    
+    static Object defaultValue(Method method) {
+        Class<?> returnType = method.getReturnType();
+        if (returnType.isPrimitive()) {
+            return returnType == void.class ? null : Array.get(Array.newInstance(returnType, 1), 0);
+        }
+        if (returnType == List.class || returnType == LinkedList.class || returnType == Collection.class) {
+            return new LinkedList<>();
+        }
+        return null;
+    }
+    
+    private interface Handler {
+        Object invoke(Method method, Object[] args);
+    }
+}
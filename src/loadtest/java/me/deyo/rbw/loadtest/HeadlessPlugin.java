@@ -0,0 +1,144 @@
+package me.deyo.rbw.loadtest;
+
+import me.deyo.rbw.RBWPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.PluginLogger;
+import org.bukkit.plugin.java.JavaPlugin;
+import sun.misc.Unsafe;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public final class HeadlessPlugin {
+    
+    private final RBWPlugin plugin;
+    private final HeadlessScheduler scheduler;
+    private final HeadlessBedWars bedWars;
+    
+    private HeadlessPlugin(RBWPlugin plugin, HeadlessScheduler scheduler, HeadlessBedWars bedWars) {
+        this.plugin = plugin;
+        this.scheduler = scheduler;
+        this.bedWars = bedWars;
+    }
+    
+    public static HeadlessPlugin start(LoadTestConfig config) {
+        HeadlessScheduler scheduler = new HeadlessScheduler();
+        HeadlessBedWars bedWars = new HeadlessBedWars(config.getArenaCount(), Math.max(1, (config.getPlayers().size() + 1) / 2),
+            config.getCountdownTicks(), config.getGameTicks());
+        try {
+            RBWPlugin plugin = (RBWPlugin) unsafe().allocateInstance(RBWPlugin.class);
+            
+            File dataFolder = Files.createTempDirectory("rbw-loadtest").toFile();
+            dataFolder.deleteOnExit();
+            writeConfig(new File(dataFolder, "config.yml"), config.getPort());
+            
+            Server server = server(scheduler, bedWars);
+            if (Bukkit.getServer() == null) {
+                Bukkit.setServer(server);
+            }
+            
+            setField(JavaPlugin.class, plugin, "server", server);
+            setField(JavaPlugin.class, plugin, "description", new PluginDescriptionFile("RBW", "loadtest", RBWPlugin.class.getName()));
+            setField(JavaPlugin.class, plugin, "dataFolder", dataFolder);
+            
+            PluginLogger logger = new PluginLogger(plugin);
+            logger.setLevel(Level.parse(System.getProperty("rbw.loadtest.plugin_log_level", "WARNING")));
+            setField(JavaPlugin.class, plugin, "logger", logger);
+            
+            Method initializeServices = RBWPlugin.class.getDeclaredMethod("initializeServices");
+            initializeServices.setAccessible(true);
+            setField(RBWPlugin.class, plugin, "bedWarsAPI", bedWars.asBedWars());
+            initializeServices.invoke(plugin);
+            bedWars.attach(plugin);
+            
+            setField(JavaPlugin.class, plugin, "isEnabled", true);
+            plugin.getArenaPool().rebuild();
+            plugin.getArenaLeaseManager().start();
+            plugin.getInboundDispatcher().start();
+            plugin.getWebSocketManager().connect();
+            return new HeadlessPlugin(plugin, scheduler, bedWars);
+        } catch (Exception e) {
+            scheduler.shutdown();
+            throw new IllegalStateException("Failed to start headless plugin", e);
+        }
+    }
+    
+    private static void writeConfig(File file, int botPort) throws Exception {
+        YamlConfiguration config;
+        try (InputStream defaults = RBWPlugin.class.getClassLoader().getResourceAsStream("config.yml")) {
+            config = defaults != null
+                ? YamlConfiguration.loadConfiguration(new InputStreamReader(defaults, StandardCharsets.UTF_8))
+                : new YamlConfiguration();
+        }
+        config.set("bot.host", "127.0.0.1");
+        config.set("bot.port", botPort);
+        config.save(file);
+    }
+    
+    private static Server server(HeadlessScheduler scheduler, HeadlessBedWars bedWars) {
+        Logger logger = Logger.getLogger("rbw-loadtest");
+        logger.setLevel(Level.WARNING);
+        return (Server) Proxy.newProxyInstance(Server.class.getClassLoader(), new Class<?>[]{Server.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getLogger":
+                    return logger;
+                case "getScheduler":
+                    return scheduler.asBukkitScheduler();
+                case "isPrimaryThread":
+                    return scheduler.isPrimaryThread();
+                case "getName":
+                case "getVersion":
+                case "getBukkitVersion":
+                    return "headless";
+                case "getPlayer":
+                case "getPlayerExact":
+                    return args[0] instanceof String ? bedWars.getPlayer((String) args[0]) : null;
+                case "getOnlinePlayers":
+                    return bedWars.getOnlinePlayers();
+                default:
+                    return HeadlessBedWars.defaultValue(method);
+            }
+        });
+    }
+    
+    public void stop() {
+        try {
+            setField(JavaPlugin.class, plugin, "isEnabled", false);
+        } catch (Exception ignored) {}
+        plugin.getWebSocketManager().disconnect();
+        plugin.getInboundDispatcher().stop();
+        plugin.getArenaLeaseManager().stop();
+        scheduler.shutdown();
+    }
+    
+    public RBWPlugin getPlugin() {
+        return plugin;
+    }
+    
+    public HeadlessBedWars getBedWars() {
+        return bedWars;
+    }
+    
+    private static void setField(Class<?> owner, Object target, String name, Object value) throws Exception {
+        Field field = owner.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+    
+    private static Unsafe unsafe() throws Exception {
+        Field field = Unsafe.class.getDeclaredField("theUnsafe");
+        field.setAccessible(true);
+        return (Unsafe) field.get(null);
+    }
+}
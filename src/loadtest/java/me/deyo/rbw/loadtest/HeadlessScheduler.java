@@ -0,0 +1,129 @@
+package me.deyo.rbw.loadtest;
+
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class HeadlessScheduler {
+    
+    private static final long TICK_MILLIS = 50L;
+    
+    private final ScheduledExecutorService mainThread;
+    private final ScheduledExecutorService asyncThreads;
+    private final Map<Integer, Future<?>> tasks = new ConcurrentHashMap<>();
+    private final AtomicInteger taskIds = new AtomicInteger();
+    private volatile Thread primaryThread;
+    
+    public HeadlessScheduler() {
+        this.mainThread = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Headless-Server-Thread");
+            thread.setDaemon(true);
+            primaryThread = thread;
+            return thread;
+        });
+        this.asyncThreads = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "Headless-Scheduler-Async");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    public BukkitScheduler asBukkitScheduler() {
+        return (BukkitScheduler) Proxy.newProxyInstance(BukkitScheduler.class.getClassLoader(), new Class<?>[]{BukkitScheduler.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "runTask":
+                    return schedule(mainThread, (Runnable) args[1], 0L, -1L);
+                case "runTaskLater":
+                    return schedule(mainThread, (Runnable) args[1], (Long) args[2], -1L);
+                case "runTaskTimer":
+                    return schedule(mainThread, (Runnable) args[1], (Long) args[2], (Long) args[3]);
+                case "runTaskAsynchronously":
+                    return schedule(asyncThreads, (Runnable) args[1], 0L, -1L);
+                case "runTaskLaterAsynchronously":
+                    return schedule(asyncThreads, (Runnable) args[1], (Long) args[2], -1L);
+                case "runTaskTimerAsynchronously":
+                    return schedule(asyncThreads, (Runnable) args[1], (Long) args[2], (Long) args[3]);
+                case "cancelTask":
+                    cancel((Integer) args[0]);
+                    return null;
+                case "isCurrentlyRunning":
+                case "isQueued":
+                    return tasks.containsKey((Integer) args[0]);
+                default:
+                    throw new UnsupportedOperationException("Headless scheduler does not support " + method.getName());
+            }
+        });
+    }
+    
+    private BukkitTask schedule(ScheduledExecutorService executor, Runnable runnable, long delayTicks, long periodTicks) {
+        int taskId = taskIds.incrementAndGet();
+        Runnable task = () -> {
+            try {
+                runnable.run();
+            } catch (Throwable t) {
+                System.err.println("Headless task " + taskId + " failed: " + t);
+            } finally {
+                if (periodTicks <= 0L) {
+                    tasks.remove(taskId);
+                }
+            }
+        };
+        
+        long delay = Math.max(0L, delayTicks) * TICK_MILLIS;
+        Future<?> future = periodTicks > 0L
+            ? executor.scheduleAtFixedRate(task, delay, periodTicks * TICK_MILLIS, TimeUnit.MILLISECONDS)
+            : executor.schedule(task, delay, TimeUnit.MILLISECONDS);
+        if (periodTicks > 0L || !future.isDone()) {
+            tasks.put(taskId, future);
+        }
+        return task(taskId, executor == mainThread);
+    }
+    
+    private BukkitTask task(int taskId, boolean sync) {
+        return (BukkitTask) Proxy.newProxyInstance(BukkitTask.class.getClassLoader(), new Class<?>[]{BukkitTask.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getTaskId":
+                    return taskId;
+                case "isSync":
+                    return sync;
+                case "cancel":
+                    cancel(taskId);
+                    return null;
+                case "hashCode":
+                    return taskId;
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "HeadlessTask#" + taskId;
+                default:
+                    return null;
+            }
+        });
+    }
+    
+    private void cancel(int taskId) {
+        Future<?> future = tasks.remove(taskId);
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+    
+    public boolean isPrimaryThread() {
+        return Thread.currentThread() == primaryThread;
+    }
+    
+    public void shutdown() {
+        tasks.values().forEach(future -> future.cancel(false));
+        tasks.clear();
+        mainThread.shutdownNow();
+        asyncThreads.shutdownNow();
+    }
+}
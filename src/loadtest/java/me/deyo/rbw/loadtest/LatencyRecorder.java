@@ -0,0 +1,79 @@
+package me.deyo.rbw.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class LatencyRecorder {
+    
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+    private volatile long startedAt = System.nanoTime();
+    
+    public void reset() {
+        series.clear();
+        startedAt = System.nanoTime();
+    }
+    
+    public void record(String type, long latencyNanos) {
+        series.computeIfAbsent(type, key -> new Series()).add(latencyNanos);
+    }
+    
+    public Map<String, Stats> snapshot() {
+        double elapsedSeconds = Math.max(1L, System.nanoTime() - startedAt) / 1_000_000_000.0;
+        Map<String, Stats> stats = new LinkedHashMap<>();
+        series.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey())
+            .forEach(entry -> stats.put(entry.getKey(), entry.getValue().toStats(elapsedSeconds)));
+        return stats;
+    }
+    
+    private static class Series {
+        private long[] samples = new long[256];
+        private int size;
+        
+        private synchronized void add(long value) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = value;
+        }
+        
+        private synchronized Stats toStats(double elapsedSeconds) {
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            return new Stats(size, size / elapsedSeconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), size == 0 ? 0.0 : sorted[size - 1] / 1_000_000.0);
+        }
+        
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1_000_000.0;
+        }
+    }
+    
+    public static class Stats {
+        private final long count;
+        private final double throughputPerSecond;
+        private final double p50Millis;
+        private final double p99Millis;
+        private final double maxMillis;
+        
+        public Stats(long count, double throughputPerSecond, double p50Millis, double p99Millis, double maxMillis) {
+            this.count = count;
+            this.throughputPerSecond = throughputPerSecond;
+            this.p50Millis = p50Millis;
+            this.p99Millis = p99Millis;
+            this.maxMillis = maxMillis;
+        }
+        
+        public long getCount() { return count; }
+        public double getThroughputPerSecond() { return throughputPerSecond; }
+        public double getP50Millis() { return p50Millis; }
+        public double getP99Millis() { return p99Millis; }
+        public double getMaxMillis() { return maxMillis; }
+    }
+}
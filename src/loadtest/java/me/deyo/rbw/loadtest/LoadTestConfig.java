@@ -0,0 +1,85 @@
+package me.deyo.rbw.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class LoadTestConfig {
+    
+    private final int port;
+    private final boolean external;
+    private final int connectTimeoutSeconds;
+    private final int replyTimeoutSeconds;
+    private final int maxInFlight;
+    private final int pingCount;
+    private final int warpCount;
+    private final int warpConcurrency;
+    private final int arenaCount;
+    private final int countdownTicks;
+    private final int gameTicks;
+    private final int queueFloodCount;
+    private final int queueCount;
+    private final int reconnectCycles;
+    private final List<String> players;
+    private final String reportPath;
+    private final String baselinePath;
+    private final double tolerance;
+    
+    private LoadTestConfig() {
+        this.port = Integer.getInteger("rbw.loadtest.port", 25513);
+        this.external = Boolean.getBoolean("rbw.loadtest.external");
+        this.connectTimeoutSeconds = Integer.getInteger("rbw.loadtest.connect_timeout", 120);
+        this.replyTimeoutSeconds = Integer.getInteger("rbw.loadtest.reply_timeout", 60);
+        this.maxInFlight = Integer.getInteger("rbw.loadtest.max_in_flight", 32);
+        this.pingCount = Integer.getInteger("rbw.loadtest.pings", 2000);
+        this.warpCount = Integer.getInteger("rbw.loadtest.warps", 50);
+        this.warpConcurrency = Integer.getInteger("rbw.loadtest.warp_concurrency", 4);
+        this.arenaCount = Integer.getInteger("rbw.loadtest.arenas", 8);
+        this.countdownTicks = Integer.getInteger("rbw.loadtest.countdown_ticks", 20);
+        this.gameTicks = Integer.getInteger("rbw.loadtest.game_ticks", 20);
+        this.queueFloodCount = Integer.getInteger("rbw.loadtest.queue_frames", 5000);
+        this.queueCount = Integer.getInteger("rbw.loadtest.queues", 8);
+        this.reconnectCycles = Integer.getInteger("rbw.loadtest.reconnects", 3);
+        this.players = parsePlayers(System.getProperty("rbw.loadtest.players", ""));
+        this.reportPath = System.getProperty("rbw.loadtest.report", "target/loadtest/report.json");
+        this.baselinePath = System.getProperty("rbw.loadtest.baseline", "");
+        this.tolerance = Double.parseDouble(System.getProperty("rbw.loadtest.tolerance", "0.2"));
+    }
+    
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig();
+    }
+    
+    private static List<String> parsePlayers(String value) {
+        List<String> players = new ArrayList<>();
+        for (String player : Arrays.asList(value.split(","))) {
+            if (!player.trim().isEmpty()) {
+                players.add(player.trim());
+            }
+        }
+        if (players.isEmpty()) {
+            players.add("LoadTestRed");
+            players.add("LoadTestBlue");
+        }
+        return players;
+    }
+    
+    public int getPort() { return port; }
+    public boolean isExternal() { return external; }
+    public int getConnectTimeoutSeconds() { return connectTimeoutSeconds; }
+    public int getReplyTimeoutSeconds() { return replyTimeoutSeconds; }
+    public int getMaxInFlight() { return maxInFlight; }
+    public int getPingCount() { return pingCount; }
+    public int getWarpCount() { return warpCount; }
+    public int getWarpConcurrency() { return warpConcurrency; }
+    public int getArenaCount() { return arenaCount; }
+    public int getCountdownTicks() { return countdownTicks; }
+    public int getGameTicks() { return gameTicks; }
+    public int getQueueFloodCount() { return queueFloodCount; }
+    public int getQueueCount() { return queueCount; }
+    public int getReconnectCycles() { return reconnectCycles; }
+    public List<String> getPlayers() { return players; }
+    public String getReportPath() { return reportPath; }
+    public String getBaselinePath() { return baselinePath; }
+    public double getTolerance() { return tolerance; }
+}
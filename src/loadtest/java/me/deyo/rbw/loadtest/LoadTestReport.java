@@ -0,0 +1,109 @@
+package me.deyo.rbw.loadtest;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class LoadTestReport {
+    
+    private final JsonObject scenarios = new JsonObject();
+    
+    public void add(String scenario, Map<String, Double> metrics, Map<String, LatencyRecorder.Stats> replies) {
+        JsonObject metricsJson = new JsonObject();
+        metrics.forEach(metricsJson::addProperty);
+        
+        JsonObject repliesJson = new JsonObject();
+        replies.forEach((type, stats) -> {
+            JsonObject statsJson = new JsonObject();
+            statsJson.addProperty("count", stats.getCount());
+            statsJson.addProperty("throughput_per_s", round(stats.getThroughputPerSecond()));
+            statsJson.addProperty("p50_ms", round(stats.getP50Millis()));
+            statsJson.addProperty("p99_ms", round(stats.getP99Millis()));
+            statsJson.addProperty("max_ms", round(stats.getMaxMillis()));
+            repliesJson.add(type, statsJson);
+        });
+        
+        JsonObject scenarioJson = new JsonObject();
+        scenarioJson.add("metrics", metricsJson);
+        scenarioJson.add("replies", repliesJson);
+        scenarios.add(scenario, scenarioJson);
+        
+        print(scenario, metrics, replies);
+    }
+    
+    private void print(String scenario, Map<String, Double> metrics, Map<String, LatencyRecorder.Stats> replies) {
+        System.out.println();
+        System.out.println("== " + scenario + " ==");
+        System.out.println(String.format("%-30s %8s %12s %10s %10s %10s", "reply", "count", "per sec", "p50 ms", "p99 ms", "max ms"));
+        replies.forEach((type, stats) -> System.out.println(String.format("%-30s %8d %12.1f %10.2f %10.2f %10.2f",
+            type, stats.getCount(), stats.getThroughputPerSecond(), stats.getP50Millis(), stats.getP99Millis(), stats.getMaxMillis())));
+        metrics.forEach((name, value) -> System.out.println(String.format("  %s: %.2f", name, value)));
+    }
+    
+    public void write(String path) throws IOException {
+        Path file = Paths.get(path);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        
+        JsonObject report = new JsonObject();
+        report.addProperty("timestamp", System.currentTimeMillis());
+        report.add("scenarios", scenarios);
+        Files.write(file, new GsonBuilder().setPrettyPrinting().create().toJson(report).getBytes(StandardCharsets.UTF_8));
+        System.out.println();
+        System.out.println("Report written to " + file.toAbsolutePath());
+    }
+    
+    public List<String> compareTo(String baselinePath, double tolerance) throws IOException {
+        List<String> regressions = new ArrayList<>();
+        JsonObject baseline = JsonParser.parseString(new String(Files.readAllBytes(Paths.get(baselinePath)), StandardCharsets.UTF_8))
+            .getAsJsonObject().getAsJsonObject("scenarios");
+        
+        for (Map.Entry<String, JsonElement> scenario : baseline.entrySet()) {
+            JsonObject current = scenarios.getAsJsonObject(scenario.getKey());
+            if (current == null) {
+                continue;
+            }
+            
+            JsonObject baselineReplies = scenario.getValue().getAsJsonObject().getAsJsonObject("replies");
+            JsonObject currentReplies = current.getAsJsonObject("replies");
+            for (Map.Entry<String, JsonElement> reply : baselineReplies.entrySet()) {
+                JsonObject expected = reply.getValue().getAsJsonObject();
+                JsonObject actual = currentReplies.getAsJsonObject(reply.getKey());
+                String label = scenario.getKey() + "/" + reply.getKey();
+                
+                if (actual == null) {
+                    regressions.add(label + ": no replies received");
+                    continue;
+                }
+                
+                double expectedP99 = expected.get("p99_ms").getAsDouble();
+                double actualP99 = actual.get("p99_ms").getAsDouble();
+                if (actualP99 > expectedP99 * (1.0 + tolerance)) {
+                    regressions.add(String.format("%s: p99 %.2f ms vs baseline %.2f ms", label, actualP99, expectedP99));
+                }
+                
+                double expectedThroughput = expected.get("throughput_per_s").getAsDouble();
+                double actualThroughput = actual.get("throughput_per_s").getAsDouble();
+                if (actualThroughput < expectedThroughput * (1.0 - tolerance)) {
+                    regressions.add(String.format("%s: %.1f/s vs baseline %.1f/s", label, actualThroughput, expectedThroughput));
+                }
+            }
+        }
+        return regressions;
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+}
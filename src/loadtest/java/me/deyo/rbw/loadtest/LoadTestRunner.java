@@ -0,0 +1,61 @@
+package me.deyo.rbw.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class LoadTestRunner {
+    
+    private LoadTestRunner() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        List<Scenario> scenarios = Arrays.asList(
+            new PingRoundTripScenario(),
+            new WarpStormScenario(),
+            new QueueStatusFloodScenario(),
+            new ReconnectCycleScenario()
+        );
+        
+        BotServer server = new BotServer(config.getPort(), config.getMaxInFlight());
+        server.start();
+        HeadlessPlugin plugin = null;
+        
+        try {
+            if (config.isExternal()) {
+                System.out.println("Waiting up to " + config.getConnectTimeoutSeconds() + "s for an external plugin to connect...");
+            } else {
+                plugin = HeadlessPlugin.start(config);
+            }
+            if (server.awaitConnection(0L, config.getConnectTimeoutSeconds()) == null) {
+                throw new IllegalStateException(config.isExternal()
+                    ? "Plugin did not connect; point bot.host/port at this machine and restart the dev server"
+                    : "Headless plugin did not connect to the bot server");
+            }
+            
+            LoadTestReport report = new LoadTestReport();
+            for (Scenario scenario : scenarios) {
+                server.getRecorder().reset();
+                Map<String, Double> metrics = new LinkedHashMap<>();
+                scenario.run(server, config, metrics);
+                report.add(scenario.getName(), metrics, server.getRecorder().snapshot());
+            }
+            report.write(config.getReportPath());
+            
+            if (!config.getBaselinePath().isEmpty()) {
+                List<String> regressions = report.compareTo(config.getBaselinePath(), config.getTolerance());
+                if (!regressions.isEmpty()) {
+                    throw new IllegalStateException("Regressions against " + config.getBaselinePath() + ":\n  " + String.join("\n  ", regressions));
+                }
+                System.out.println("No regressions against " + config.getBaselinePath());
+            }
+        } finally {
+            if (plugin != null) {
+                plugin.stop();
+            }
+            server.stop(1000);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package me.deyo.rbw.loadtest;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.util.List;
+
+public final class Messages {
+    
+    private Messages() {
+    }
+    
+    public static JsonObject ping() {
+        JsonObject message = new JsonObject();
+        message.addProperty("type", "PING");
+        return message;
+    }
+    
+    public static JsonObject checkPlayer(String ign) {
+        JsonObject message = new JsonObject();
+        message.addProperty("type", "CHECK_PLAYER");
+        message.addProperty("ign", ign);
+        return message;
+    }
+    
+    public static JsonObject warpPlayers(String gameId, List<String> team1, List<String> team2) {
+        JsonObject message = new JsonObject();
+        message.addProperty("type", "WARP_PLAYERS");
+        message.addProperty("game_id", gameId);
+        message.addProperty("map", "random");
+        message.addProperty("is_ranked", false);
+        message.add("team1", playerArray(team1));
+        message.add("team2", playerArray(team2));
+        return message;
+    }
+    
+    public static JsonObject queueStatus(long version, int queueCount, List<String> players) {
+        JsonObject queues = new JsonObject();
+        for (int i = 0; i < queueCount; i++) {
+            JsonObject queue = new JsonObject();
+            queue.add("players", playerArray(players.subList(0, (int) ((version + i) % (players.size() + 1)))));
+            JsonObject eloRange = new JsonObject();
+            eloRange.addProperty("min", i * 100);
+            eloRange.addProperty("max", i * 100 + 99);
+            queue.add("elo_range", eloRange);
+            queue.addProperty("capacity", 8);
+            queues.add("queue-" + i, queue);
+        }
+        
+        JsonObject message = new JsonObject();
+        message.addProperty("type", "QUEUESTATUS");
+        message.addProperty("version", version);
+        message.add("queues", queues);
+        return message;
+    }
+    
+    private static JsonArray playerArray(List<String> players) {
+        JsonArray array = new JsonArray();
+        for (String player : players) {
+            JsonObject entry = new JsonObject();
+            entry.addProperty("ign", player);
+            array.add(entry);
+        }
+        return array;
+    }
+}
@@ -0,0 +1,26 @@
+package me.deyo.rbw.loadtest;
+
+import java.util.Map;
+
+public class PingRoundTripScenario implements Scenario {
+    
+    @Override
+    public String getName() {
+        return "ping";
+    }
+    
+    @Override
+    public void run(BotServer server, LoadTestConfig config, Map<String, Double> metrics) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < config.getPingCount(); i++) {
+            server.request(Messages.ping(), config.getReplyTimeoutSeconds());
+        }
+        
+        metrics.put("lost_replies", (double) server.awaitReplies(config.getReplyTimeoutSeconds()));
+        metrics.put("round_trips_per_second", config.getPingCount() / seconds(System.nanoTime() - start));
+    }
+    
+    static double seconds(long nanos) {
+        return Math.max(1L, nanos) / 1_000_000_000.0;
+    }
+}
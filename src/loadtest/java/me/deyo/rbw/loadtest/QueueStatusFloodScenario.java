@@ -0,0 +1,34 @@
+package me.deyo.rbw.loadtest;
+
+import java.util.Map;
+
+public class QueueStatusFloodScenario implements Scenario {
+    
+    private static final int PROBE_INTERVAL = 100;
+    
+    @Override
+    public String getName() {
+        return "queue_flood";
+    }
+    
+    @Override
+    public void run(BotServer server, LoadTestConfig config, Map<String, Double> metrics) throws Exception {
+        long[] version = {System.currentTimeMillis()};
+        server.setResyncResponder(() -> Messages.queueStatus(++version[0], config.getQueueCount(), config.getPlayers()));
+        
+        long start = System.nanoTime();
+        for (int i = 0; i < config.getQueueFloodCount(); i++) {
+            server.send(Messages.queueStatus(++version[0], config.getQueueCount(), config.getPlayers()));
+            if (i % PROBE_INTERVAL == 0) {
+                server.request(Messages.ping(), config.getReplyTimeoutSeconds());
+                server.request(Messages.checkPlayer(config.getPlayers().get(0)), config.getReplyTimeoutSeconds());
+            }
+        }
+        double sendSeconds = PingRoundTripScenario.seconds(System.nanoTime() - start);
+        
+        metrics.put("lost_replies", (double) server.awaitReplies(config.getReplyTimeoutSeconds()));
+        metrics.put("frames_per_second", config.getQueueFloodCount() / sendSeconds);
+        metrics.put("resync_requests", (double) server.getUnsolicitedCount("QUEUE_RESYNC"));
+        server.setResyncResponder(null);
+    }
+}
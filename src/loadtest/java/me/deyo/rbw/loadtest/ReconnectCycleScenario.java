@@ -0,0 +1,31 @@
+package me.deyo.rbw.loadtest;
+
+import java.util.Map;
+
+public class ReconnectCycleScenario implements Scenario {
+    
+    @Override
+    public String getName() {
+        return "reconnect";
+    }
+    
+    @Override
+    public void run(BotServer server, LoadTestConfig config, Map<String, Double> metrics) throws Exception {
+        int failed = 0;
+        for (int i = 0; i < config.getReconnectCycles(); i++) {
+            long connections = server.getConnectionCount();
+            long start = System.nanoTime();
+            server.dropConnection();
+            
+            if (server.awaitConnection(connections, config.getConnectTimeoutSeconds()) == null) {
+                failed++;
+                break;
+            }
+            server.getRecorder().record("RECONNECT", System.nanoTime() - start);
+            
+            server.request(Messages.ping(), config.getReplyTimeoutSeconds());
+            server.awaitReplies(config.getReplyTimeoutSeconds());
+        }
+        metrics.put("failed_reconnects", (double) failed);
+    }
+}
@@ -0,0 +1,10 @@
+package me.deyo.rbw.loadtest;
+
+import java.util.Map;
+
+public interface Scenario {
+    
+    String getName();
+    
+    void run(BotServer server, LoadTestConfig config, Map<String, Double> metrics) throws Exception;
+}
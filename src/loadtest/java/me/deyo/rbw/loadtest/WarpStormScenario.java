@@ -0,0 +1,50 @@
+package me.deyo.rbw.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class WarpStormScenario implements Scenario {
+    
+    @Override
+    public String getName() {
+        return "warp_storm";
+    }
+    
+    @Override
+    public void run(BotServer server, LoadTestConfig config, Map<String, Double> metrics) throws Exception {
+        List<String> players = config.getPlayers();
+        int half = Math.max(1, players.size() / 2);
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        int wave = Math.max(1, config.getWarpConcurrency());
+        int lost = 0;
+        
+        long start = System.nanoTime();
+        for (int first = 0; first < config.getWarpCount(); first += wave) {
+            for (int i = first; i < Math.min(first + wave, config.getWarpCount()); i++) {
+                List<String> warped = playersFor(players, i);
+                server.request(Messages.warpPlayers("loadtest-" + runId + "-" + i, warped.subList(0, half), warped.subList(half, warped.size())),
+                    config.getReplyTimeoutSeconds());
+                for (String player : warped) {
+                    server.request(Messages.checkPlayer(player), config.getReplyTimeoutSeconds());
+                }
+            }
+            lost += server.awaitReplies(config.getReplyTimeoutSeconds());
+        }
+        double seconds = PingRoundTripScenario.seconds(System.nanoTime() - start);
+        
+        LatencyRecorder.Stats succeeded = server.getRecorder().snapshot().get("WARP_SUCCESS");
+        long successes = succeeded != null ? succeeded.getCount() : 0L;
+        metrics.put("lost_replies", (double) lost);
+        metrics.put("warp_failures", (double) (config.getWarpCount() - successes));
+        metrics.put("warps_per_second", successes / seconds);
+    }
+    
+    private static List<String> playersFor(List<String> players, int warp) {
+        List<String> names = new ArrayList<>(players.size());
+        for (String player : players) {
+            names.add(player + warp);
+        }
+        return names;
+    }
+}
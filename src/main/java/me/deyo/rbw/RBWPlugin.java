@@ -5,8 +5,20 @@ import me.deyo.rbw.core.GameManager;
 import me.deyo.rbw.core.WebSocketManager;
 import me.deyo.rbw.core.ConfigManager;
 import me.deyo.rbw.commands.CommandRegistry;
+import me.deyo.rbw.listeners.ArenaPoolListener;
+import me.deyo.rbw.listeners.ChunkPinListener;
 import me.deyo.rbw.listeners.GameListener;
+import me.deyo.rbw.listeners.GameplayStatsListener;
+import me.deyo.rbw.service.arena.ArenaLeaseManager;
+import me.deyo.rbw.service.arena.ArenaPool;
+import me.deyo.rbw.service.arena.ChunkPreloader;
+import me.deyo.rbw.service.game.WarpScheduler;
+import me.deyo.rbw.service.protocol.InboundDispatcher;
+import me.deyo.rbw.service.protocol.MessageHandlerRegistry;
+import me.deyo.rbw.tasks.ArenaPrewarmer;
+import me.deyo.rbw.tasks.GameSnapshotTask;
 import me.deyo.rbw.tasks.QueueUpdater;
+import me.deyo.rbw.tasks.StatsAggregator;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.java.JavaPlugin;
 
@@ -17,8 +29,18 @@ public final class RBWPlugin extends JavaPlugin {
     private ConfigManager configManager;
     private WebSocketManager webSocketManager;
     private GameManager gameManager;
+    private ArenaPool arenaPool;
+    private ArenaLeaseManager arenaLeaseManager;
+    private ArenaPrewarmer arenaPrewarmer;
+    private WarpScheduler warpScheduler;
+    private ChunkPreloader chunkPreloader;
     private CommandRegistry commandRegistry;
     private QueueUpdater queueUpdater;
+    private StatsAggregator statsAggregator;
+    private GameSnapshotTask gameSnapshotTask;
+    private GameplayStatsListener gameplayStatsListener;
+    private InboundDispatcher inboundDispatcher;
+    private MessageHandlerRegistry messageHandlerRegistry;
     
     @Override
     public void onEnable() {
@@ -48,6 +70,38 @@ public final class RBWPlugin extends JavaPlugin {
             webSocketManager.disconnect();
         }
         
+        if (inboundDispatcher != null) {
+            inboundDispatcher.stop();
+        }
+        
+        if (warpScheduler != null) {
+            warpScheduler.stop();
+        }
+        
+        if (chunkPreloader != null) {
+            chunkPreloader.stop();
+        }
+        
+        if (arenaPrewarmer != null) {
+            arenaPrewarmer.stop();
+        }
+        
+        if (arenaLeaseManager != null) {
+            arenaLeaseManager.stop();
+        }
+        
+        if (gameplayStatsListener != null) {
+            gameplayStatsListener.unregister();
+        }
+        
+        if (statsAggregator != null) {
+            statsAggregator.stop();
+        }
+        
+        if (gameSnapshotTask != null) {
+            gameSnapshotTask.stop();
+        }
+        
         if (gameManager != null) {
             gameManager.cleanup();
         }
@@ -66,14 +120,26 @@ public final class RBWPlugin extends JavaPlugin {
     
     private void initializeServices() {
         configManager = new ConfigManager(this);
+        inboundDispatcher = new InboundDispatcher(this);
+        messageHandlerRegistry = new MessageHandlerRegistry(this);
         webSocketManager = new WebSocketManager(this);
         gameManager = new GameManager(this);
+        arenaPool = new ArenaPool(this);
+        arenaLeaseManager = new ArenaLeaseManager(this);
+        arenaPrewarmer = new ArenaPrewarmer(this);
+        warpScheduler = new WarpScheduler(this);
+        chunkPreloader = new ChunkPreloader(this);
+        statsAggregator = new StatsAggregator(this);
+        gameSnapshotTask = new GameSnapshotTask(this);
         commandRegistry = new CommandRegistry(this);
         queueUpdater = new QueueUpdater(this);
     }
     
     private void registerListeners() {
+        Bukkit.getPluginManager().registerEvents(new ArenaPoolListener(this), this);
+        Bukkit.getPluginManager().registerEvents(new ChunkPinListener(this), this);
         Bukkit.getPluginManager().registerEvents(new GameListener(this), this);
+        gameplayStatsListener = new GameplayStatsListener(this);
     }
     
     private void registerCommands() {
@@ -81,8 +147,14 @@ public final class RBWPlugin extends JavaPlugin {
     }
     
     private void startServices() {
+        arenaPool.rebuild();
+        arenaLeaseManager.start();
+        arenaPrewarmer.start();
+        inboundDispatcher.start();
         webSocketManager.connect();
+        gameSnapshotTask.start();
         queueUpdater.start();
+        statsAggregator.start();
     }
     
     public static RBWPlugin getInstance() {
@@ -105,6 +177,46 @@ public final class RBWPlugin extends JavaPlugin {
         return gameManager;
     }
     
+    public ArenaPool getArenaPool() {
+        return arenaPool;
+    }
+    
+    public ArenaLeaseManager getArenaLeaseManager() {
+        return arenaLeaseManager;
+    }
+    
+    public ArenaPrewarmer getArenaPrewarmer() {
+        return arenaPrewarmer;
+    }
+    
+    public WarpScheduler getWarpScheduler() {
+        return warpScheduler;
+    }
+    
+    public ChunkPreloader getChunkPreloader() {
+        return chunkPreloader;
+    }
+    
+    public InboundDispatcher getInboundDispatcher() {
+        return inboundDispatcher;
+    }
+    
+    public MessageHandlerRegistry getMessageHandlerRegistry() {
+        return messageHandlerRegistry;
+    }
+    
+    public StatsAggregator getStatsAggregator() {
+        return statsAggregator;
+    }
+    
+    public GameSnapshotTask getGameSnapshotTask() {
+        return gameSnapshotTask;
+    }
+    
+    public GameplayStatsListener getGameplayStatsListener() {
+        return gameplayStatsListener;
+    }
+    
     public CommandRegistry getCommandRegistry() {
         return commandRegistry;
     }
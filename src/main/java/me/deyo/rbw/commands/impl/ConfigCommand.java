@@ -2,12 +2,28 @@ package me.deyo.rbw.commands.impl;
 
 import me.deyo.rbw.RBWPlugin;
 import me.deyo.rbw.commands.BaseCommand;
+import me.deyo.rbw.core.outbound.OutboundQueue;
+import me.deyo.rbw.core.outbound.OutboxJournal;
+import me.deyo.rbw.service.arena.ArenaLeaseManager;
+import me.deyo.rbw.service.arena.ChunkPreloader;
+import me.deyo.rbw.service.game.GameSetupService;
+import me.deyo.rbw.service.game.GameSetupSession;
+import me.deyo.rbw.service.game.SetupMetrics;
+import me.deyo.rbw.service.protocol.InboundDispatcher;
+import me.deyo.rbw.service.protocol.MessageLane;
+import me.deyo.rbw.service.protocol.MessageTypeMetrics;
+import me.deyo.rbw.tasks.ArenaPrewarmer;
 import org.bukkit.command.CommandSender;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
 public class ConfigCommand extends BaseCommand {
     
     public ConfigCommand(RBWPlugin plugin) {
-        super(plugin, "config", "rbw.admin", "Manage plugin configuration", "/config [reload]");
+        super(plugin, "config", "rbw.admin", "Manage plugin configuration", "/config [reload|info|metrics]");
     }
     
     @Override
@@ -22,13 +38,17 @@ public class ConfigCommand extends BaseCommand {
         switch (subCommand) {
             case "reload":
                 plugin.getConfigManager().reloadConfig();
+                plugin.getArenaPool().rebuild();
                 sendMessage(sender, "&aConfig reloaded successfully!");
                 break;
             case "info":
                 sendConfigInfo(sender);
                 break;
+            case "metrics":
+                sendMessageMetrics(sender);
+                break;
             default:
-                sendMessage(sender, "&cUnknown subcommand. Available: reload, info");
+                sendMessage(sender, "&cUnknown subcommand. Available: reload, info, metrics");
                 break;
         }
         
@@ -42,6 +62,78 @@ public class ConfigCommand extends BaseCommand {
         sendMessage(sender, "&eRBW Modes: &f" + String.join(", ", plugin.getConfigManager().getRBWModes()));
         sendMessage(sender, "&eDebug Mode: &f" + plugin.getConfigManager().isDebugEnabled());
         sendMessage(sender, "&eActive Games: &f" + plugin.getGameManager().getActiveGameCount());
+        sendMessage(sender, "&eArena Pool: &f" + plugin.getArenaPool().getAvailableCount() + " available of " +
+            plugin.getArenaPool().getTrackedCount() + " arenas");
+        
+        ArenaLeaseManager leaseManager = plugin.getArenaLeaseManager();
+        sendMessage(sender, "&eArena Leases: &f" + leaseManager.getActiveCount() + " active (acquired " +
+            leaseManager.getAcquiredCount() + ", contended " + leaseManager.getContendedCount() +
+            ", released " + leaseManager.getReleasedCount() + ", expired " + leaseManager.getExpiredCount() + ")");
+        sendMessage(sender, "&eWarps Pending: &f" + plugin.getWarpScheduler().getPendingGameCount() + " games, " +
+            plugin.getWarpScheduler().getPendingPlayerCount() + " players");
+        ChunkPreloader chunkPreloader = plugin.getChunkPreloader();
+        sendMessage(sender, "&eChunk Preload: &f" + chunkPreloader.getPinnedCount() + " pinned, " +
+            chunkPreloader.getLoadingCount() + " loading, avg " + String.format("%.1f", chunkPreloader.getAverageLoadMillis()) +
+            "ms (max " + String.format("%.1f", chunkPreloader.getMaxLoadMillis()) + "ms), " +
+            chunkPreloader.getDeadlineMissCount() + " deadline misses");
+        for (Map.Entry<String, ArenaPrewarmer.Gauge> gauge : plugin.getArenaPrewarmer().getGauges().entrySet()) {
+            sendMessage(sender, "&ePre-warmed " + gauge.getKey() + ": &f" + gauge.getValue().getReady() +
+                " ready / " + gauge.getValue().getForecast() + " forecast");
+        }
         sendMessage(sender, "&eWebSocket Connected: &f" + (plugin.getWebSocketManager().isConnected() ? "Yes" : "No"));
+        
+        OutboundQueue outboundQueue = plugin.getWebSocketManager().getOutboundQueue();
+        sendMessage(sender, "&eOutbound Queue: &f" + outboundQueue.getDepth() + "/" + outboundQueue.getCapacity() +
+            " (peak " + outboundQueue.getHighWaterMark() + ", sent " + outboundQueue.getSentCount() +
+            ", dropped " + outboundQueue.getDroppedCount() + ", spilled " + outboundQueue.getSpilledCount() + ")");
+        if (plugin.getConfigManager().isBatchingEnabled()) {
+            sendMessage(sender, "&eOutbound Batches: &f" + outboundQueue.getBatchCount() +
+                " (coalesced " + outboundQueue.getCoalescedCount() + ")");
+        }
+        
+        InboundDispatcher inboundDispatcher = plugin.getInboundDispatcher();
+        sendMessage(sender, "&eInbound Pending: &f" + inboundDispatcher.getPendingCount() +
+            " (peak " + inboundDispatcher.getHighWaterMark() + ", handled " + inboundDispatcher.getExecutedCount() +
+            ", carried over " + inboundDispatcher.getCarriedOverTicks() + " ticks)");
+        sendMessage(sender, "&eInbound Lanes: &fsetup " + inboundDispatcher.getPendingCount(MessageLane.SETUP) +
+            ", player " + inboundDispatcher.getPendingCount(MessageLane.PLAYER) +
+            ", bulk " + inboundDispatcher.getPendingCount(MessageLane.BULK) +
+            " (superseded " + inboundDispatcher.getSupersededCount() + ")");
+        
+        OutboxJournal outboxJournal = plugin.getWebSocketManager().getOutboxJournal();
+        if (outboxJournal != null) {
+            sendMessage(sender, "&eOutbox: &f" + outboxJournal.getPendingCount() + " unacknowledged (seq " +
+                outboxJournal.getAckedSeq() + "/" + outboxJournal.getLastSeq() + ")");
+        }
+    }
+    
+    private void sendMessageMetrics(CommandSender sender) {
+        List<MessageTypeMetrics> metrics = new ArrayList<>(plugin.getMessageHandlerRegistry().getMetrics());
+        metrics.sort(Comparator.comparingLong(MessageTypeMetrics::getTotalNanos).reversed());
+        
+        sendMessage(sender, "&6=== RBW Message Metrics ===");
+        for (MessageTypeMetrics typeMetrics : metrics) {
+            if (typeMetrics.getReceivedCount() == 0L) {
+                continue;
+            }
+            sendMessage(sender, "&e" + typeMetrics.getType() + ": &f" + typeMetrics.getReceivedCount() +
+                " received, parse " + String.format("%.1f", typeMetrics.getAverageParseMicros()) + "us" +
+                ", handle " + String.format("%.1f", typeMetrics.getAverageHandlerMicros()) + "us" +
+                " (max " + String.format("%.2f", typeMetrics.getMaxHandlerMillis()) + "ms)" +
+                ", errors " + typeMetrics.getErrorCount() +
+                " (" + String.format("%.1f", typeMetrics.getErrorRate() * 100.0) + "%)");
+        }
+        
+        SetupMetrics setupMetrics = GameSetupService.getSetupMetrics();
+        sendMessage(sender, "&eGame Setups: &f" + setupMetrics.getStartedCount() + " started, " +
+            setupMetrics.getSucceededCount() + " succeeded, " + setupMetrics.getFailedCount() + " failed (" +
+            setupMetrics.getTimedOutCount() + " timed out)");
+        for (GameSetupSession.Phase phase : new GameSetupSession.Phase[] {
+                GameSetupSession.Phase.SELECTING, GameSetupSession.Phase.LOADING,
+                GameSetupSession.Phase.WARPING, GameSetupSession.Phase.STARTING}) {
+            sendMessage(sender, "&eSetup " + phase.name().toLowerCase() + ": &favg " +
+                String.format("%.1f", setupMetrics.getAveragePhaseMillis(phase)) + "ms, max " +
+                String.format("%.1f", setupMetrics.getMaxPhaseMillis(phase)) + "ms");
+        }
     }
-}
\ No newline at end of file
+}
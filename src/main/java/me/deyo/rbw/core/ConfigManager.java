@@ -1,12 +1,17 @@
 package me.deyo.rbw.core;
 
 import me.deyo.rbw.RBWPlugin;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ConfigManager {
     
@@ -17,7 +22,42 @@ public class ConfigManager {
     private String websocketHost;
     private int websocketPort;
     private List<String> rbwModes;
+    private String[] rbwModesUpper;
+    private final Map<String, Boolean> rbwGroupCache = new ConcurrentHashMap<>();
     private boolean debug;
+    private int outboundQueueCapacity;
+    private int queueResyncTimeoutMs;
+    private boolean outboxEnabled;
+    private int outboxSizeKb;
+    private int outboxFsyncBatch;
+    private int outboxFsyncIntervalMs;
+    private boolean batchingEnabled;
+    private int batchFlushWindowMs;
+    private int batchMaxMessages;
+    private double inboundTickBudgetMs;
+    private boolean timelineEnabled;
+    private int timelineCapacity;
+    private boolean timelineAttachToScoring;
+    private boolean timelineWriteToDisk;
+    private boolean snapshotEnabled;
+    private int snapshotIntervalSeconds;
+    private int snapshotPageSize;
+    private int snapshotInitialPages;
+    private int arenaLeaseTtlSeconds;
+    private boolean prewarmEnabled;
+    private int prewarmIntervalTicks;
+    private double prewarmFillThreshold;
+    private int prewarmHeadroom;
+    private int prewarmMaxReserved;
+    private Map<String, String> prewarmQueueGroups;
+    private int warpPlayersPerTick;
+    private int warpSettleTicks;
+    private long setupWarpTimeoutTicks;
+    private long setupStartTimeoutTicks;
+    private boolean chunkPreloadEnabled;
+    private int chunkPreloadRadius;
+    private int chunkPreloadChunksPerTick;
+    private long chunkPreloadDeadlineTicks;
     
     public ConfigManager(RBWPlugin plugin) {
         this.plugin = plugin;
@@ -59,8 +99,64 @@ public class ConfigManager {
             modes.add("RBW");
         }
         rbwModes = modes;
+        rbwModesUpper = new String[modes.size()];
+        for (int i = 0; i < modes.size(); i++) {
+            rbwModesUpper[i] = modes.get(i).toUpperCase(Locale.ROOT);
+        }
+        rbwGroupCache.clear();
         
         debug = config.getBoolean("debug", false);
+        
+        outboundQueueCapacity = config.getInt("performance.websocket.outbound_queue_capacity", 1024);
+        queueResyncTimeoutMs = Math.max(100, config.getInt("performance.websocket.queue_resync_timeout_ms", 5000));
+        outboxEnabled = config.getBoolean("performance.websocket.outbox.enabled", true);
+        outboxSizeKb = config.getInt("performance.websocket.outbox.size_kb", 1024);
+        outboxFsyncBatch = config.getInt("performance.websocket.outbox.fsync_batch", 8);
+        outboxFsyncIntervalMs = config.getInt("performance.websocket.outbox.fsync_interval_ms", 200);
+        batchingEnabled = config.getBoolean("performance.websocket.batching.enabled", false);
+        batchFlushWindowMs = config.getInt("performance.websocket.batching.flush_window_ms", 50);
+        batchMaxMessages = config.getInt("performance.websocket.batching.max_messages", 256);
+        
+        inboundTickBudgetMs = config.getDouble("performance.inbound.tick_budget_ms", 5.0);
+        
+        timelineEnabled = config.getBoolean("performance.timeline.enabled", true);
+        timelineCapacity = Math.max(16, config.getInt("performance.timeline.capacity", 2048));
+        timelineAttachToScoring = config.getBoolean("performance.timeline.attach_to_scoring", true);
+        timelineWriteToDisk = config.getBoolean("performance.timeline.write_to_disk", false);
+        
+        snapshotEnabled = config.getBoolean("performance.snapshot.enabled", true);
+        snapshotIntervalSeconds = config.getInt("performance.snapshot.interval_seconds", 5);
+        snapshotPageSize = config.getInt("performance.snapshot.page_size_bytes", 4096);
+        snapshotInitialPages = config.getInt("performance.snapshot.initial_pages", 16);
+        
+        arenaLeaseTtlSeconds = Math.max(1, config.getInt("performance.arena_lease.ttl_seconds", 30));
+        
+        prewarmEnabled = config.getBoolean("performance.prewarm.enabled", true);
+        prewarmIntervalTicks = Math.max(1, config.getInt("performance.prewarm.interval_ticks", 20));
+        prewarmFillThreshold = config.getDouble("performance.prewarm.fill_threshold", 0.5);
+        prewarmHeadroom = Math.max(0, config.getInt("performance.prewarm.headroom", 0));
+        prewarmMaxReserved = Math.max(0, config.getInt("performance.prewarm.max_reserved", 8));
+        
+        Map<String, String> queueGroups = new HashMap<>();
+        ConfigurationSection groupSection = config.getConfigurationSection("performance.prewarm.queue_groups");
+        if (groupSection != null) {
+            for (String queue : groupSection.getKeys(false)) {
+                String group = groupSection.getString(queue);
+                if (group != null && !group.isEmpty()) {
+                    queueGroups.put(queue.toLowerCase(Locale.ROOT), group.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        prewarmQueueGroups = queueGroups;
+        
+        warpPlayersPerTick = Math.max(1, config.getInt("performance.warp.players_per_tick", 4));
+        warpSettleTicks = Math.max(0, config.getInt("performance.warp.settle_ticks", 20));
+        setupWarpTimeoutTicks = Math.max(20L, config.getLong("performance.setup.warp_timeout_ticks", 200L));
+        setupStartTimeoutTicks = Math.max(20L, config.getLong("performance.setup.start_timeout_ticks", 300L));
+        chunkPreloadEnabled = config.getBoolean("performance.chunk_preload.enabled", true);
+        chunkPreloadRadius = Math.max(0, Math.min(4, config.getInt("performance.chunk_preload.radius", 1)));
+        chunkPreloadChunksPerTick = Math.max(1, config.getInt("performance.chunk_preload.chunks_per_tick", 4));
+        chunkPreloadDeadlineTicks = Math.max(1L, config.getLong("performance.chunk_preload.deadline_ticks", 60L));
     }
     
     public String getWebsocketHost() {
@@ -79,12 +175,157 @@ public class ConfigManager {
         return debug;
     }
     
+    public int getOutboundQueueCapacity() {
+        return outboundQueueCapacity;
+    }
+    
+    public int getQueueResyncTimeoutMs() {
+        return queueResyncTimeoutMs;
+    }
+    
+    public boolean isOutboxEnabled() {
+        return outboxEnabled;
+    }
+    
+    public int getOutboxSizeKb() {
+        return outboxSizeKb;
+    }
+    
+    public int getOutboxFsyncBatch() {
+        return outboxFsyncBatch;
+    }
+    
+    public int getOutboxFsyncIntervalMs() {
+        return outboxFsyncIntervalMs;
+    }
+    
+    public boolean isBatchingEnabled() {
+        return batchingEnabled;
+    }
+    
+    public int getBatchFlushWindowMs() {
+        return batchFlushWindowMs;
+    }
+    
+    public int getBatchMaxMessages() {
+        return batchMaxMessages;
+    }
+    
+    public double getInboundTickBudgetMs() {
+        return inboundTickBudgetMs;
+    }
+    
+    public boolean isTimelineEnabled() {
+        return timelineEnabled;
+    }
+    
+    public int getTimelineCapacity() {
+        return timelineCapacity;
+    }
+    
+    public boolean isTimelineAttachToScoring() {
+        return timelineAttachToScoring;
+    }
+    
+    public boolean isTimelineWriteToDisk() {
+        return timelineWriteToDisk;
+    }
+    
+    public boolean isSnapshotEnabled() {
+        return snapshotEnabled;
+    }
+    
+    public int getSnapshotIntervalSeconds() {
+        return snapshotIntervalSeconds;
+    }
+    
+    public int getSnapshotPageSize() {
+        return snapshotPageSize;
+    }
+    
+    public int getSnapshotInitialPages() {
+        return snapshotInitialPages;
+    }
+    
+    public int getArenaLeaseTtlSeconds() {
+        return arenaLeaseTtlSeconds;
+    }
+    
+    public boolean isPrewarmEnabled() {
+        return prewarmEnabled;
+    }
+    
+    public int getPrewarmIntervalTicks() {
+        return prewarmIntervalTicks;
+    }
+    
+    public double getPrewarmFillThreshold() {
+        return prewarmFillThreshold;
+    }
+    
+    public int getPrewarmHeadroom() {
+        return prewarmHeadroom;
+    }
+    
+    public int getPrewarmMaxReserved() {
+        return prewarmMaxReserved;
+    }
+    
+    public Map<String, String> getPrewarmQueueGroups() {
+        return prewarmQueueGroups;
+    }
+    
+    public int getWarpPlayersPerTick() {
+        return warpPlayersPerTick;
+    }
+    
+    public int getWarpSettleTicks() {
+        return warpSettleTicks;
+    }
+    
+    public long getSetupWarpTimeoutTicks() {
+        return setupWarpTimeoutTicks;
+    }
+    
+    public long getSetupStartTimeoutTicks() {
+        return setupStartTimeoutTicks;
+    }
+    
+    public boolean isChunkPreloadEnabled() {
+        return chunkPreloadEnabled;
+    }
+    
+    public int getChunkPreloadRadius() {
+        return chunkPreloadRadius;
+    }
+    
+    public int getChunkPreloadChunksPerTick() {
+        return chunkPreloadChunksPerTick;
+    }
+    
+    public long getChunkPreloadDeadlineTicks() {
+        return chunkPreloadDeadlineTicks;
+    }
+    
     public boolean isRBWMode(String groupName) {
-        if (groupName == null || rbwModes == null) return false;
+        if (groupName == null || rbwModesUpper == null) return false;
         
-        String upperGroup = groupName.toUpperCase();
-        return rbwModes.stream()
-                .anyMatch(mode -> upperGroup.contains(mode.toUpperCase()));
+        Boolean cached = rbwGroupCache.get(groupName);
+        if (cached == null) {
+            cached = classifyGroup(groupName);
+            rbwGroupCache.put(groupName, cached);
+        }
+        return cached;
+    }
+    
+    private boolean classifyGroup(String groupName) {
+        String upperGroup = groupName.toUpperCase(Locale.ROOT);
+        for (String mode : rbwModesUpper) {
+            if (upperGroup.contains(mode)) {
+                return true;
+            }
+        }
+        return false;
     }
     
     public void saveConfig() {
@@ -1,28 +1,40 @@
 package me.deyo.rbw.core;
 
 import me.deyo.rbw.RBWPlugin;
+import me.deyo.rbw.listeners.GameplayStatsListener;
 import me.deyo.rbw.model.Game;
 import me.deyo.rbw.model.GameStats;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class GameManager {
     
     private final RBWPlugin plugin;
     private final Map<String, Game> activeGames = new ConcurrentHashMap<>();
     private final Map<String, String> arenaToGameId = new ConcurrentHashMap<>();
+    private final Map<String, Game> playerToGame = new ConcurrentHashMap<>();
+    private final AtomicInteger generation = new AtomicInteger();
     
     public GameManager(RBWPlugin plugin) {
         this.plugin = plugin;
     }
     
     public void registerGame(String gameId, String arenaName, List<String> team1, List<String> team2) {
-        Game game = new Game(gameId, arenaName, team1, team2);
+        ConfigManager config = plugin.getConfigManager();
+        int timelineCapacity = config.isTimelineEnabled() ? config.getTimelineCapacity() : 0;
+        Game game = new Game(gameId, arenaName, team1, team2, timelineCapacity);
         game.startGame();
         
-        activeGames.put(gameId, game);
+        indexPlayers(game);
+        Game previous = activeGames.put(gameId, game);
+        if (previous != null) {
+            unindexPlayers(previous);
+            arenaToGameId.remove(previous.getArenaName(), gameId);
+        }
         arenaToGameId.put(arenaName, gameId);
+        onGamesChanged();
         
         plugin.getLogger().info("Registered game: " + gameId + " in arena: " + arenaName);
     }
@@ -31,6 +43,11 @@ public class GameManager {
         Game game = activeGames.remove(gameId);
         if (game != null) {
             arenaToGameId.remove(game.getArenaName());
+            unindexPlayers(game);
+            onGamesChanged();
+            if (plugin.getGameSnapshotTask() != null) {
+                plugin.getGameSnapshotTask().forget(gameId);
+            }
             game.cleanup();
             plugin.getLogger().info("Unregistered game: " + gameId);
         }
@@ -53,10 +70,38 @@ public class GameManager {
     }
     
     public Game getGameByPlayer(String playerName) {
-        return activeGames.values().stream()
-                .filter(game -> game.containsPlayer(playerName))
-                .findFirst()
-                .orElse(null);
+        return playerName != null ? playerToGame.get(playerName) : null;
+    }
+    
+    private void indexPlayers(Game game) {
+        for (String player : game.getTeam1Players()) {
+            playerToGame.put(player, game);
+        }
+        for (String player : game.getTeam2Players()) {
+            playerToGame.put(player, game);
+        }
+    }
+    
+    private void unindexPlayers(Game game) {
+        for (String player : game.getTeam1Players()) {
+            playerToGame.remove(player, game);
+        }
+        for (String player : game.getTeam2Players()) {
+            playerToGame.remove(player, game);
+        }
+    }
+    
+    private void onGamesChanged() {
+        generation.incrementAndGet();
+        
+        GameplayStatsListener listener = plugin.getGameplayStatsListener();
+        if (listener != null) {
+            listener.refresh();
+        }
+    }
+    
+    public int getGeneration() {
+        return generation.get();
     }
     
     public Collection<Game> getAllGames() {
@@ -68,22 +113,19 @@ public class GameManager {
     }
     
     public boolean isPlayerInGame(String playerName) {
-        return getGameByPlayer(playerName) != null;
+        return playerName != null && playerToGame.containsKey(playerName);
     }
     
     public void cleanup() {
         activeGames.values().forEach(Game::cleanup);
         activeGames.clear();
         arenaToGameId.clear();
+        playerToGame.clear();
+        onGamesChanged();
     }
     
     public GameStats getGameStats() {
-        return new GameStats(
-            activeGames.size(),
-            activeGames.values().stream()
-                .mapToInt(game -> game.getTeam1Players().size() + game.getTeam2Players().size())
-                .sum()
-        );
+        return new GameStats(activeGames.size(), playerToGame.size());
     }
 }
 
@@ -2,13 +2,26 @@ package me.deyo.rbw.core;
 
 import com.google.gson.JsonObject;
 import me.deyo.rbw.RBWPlugin;
+import me.deyo.rbw.core.outbound.OutboundJson;
+import me.deyo.rbw.core.outbound.OutboundMessage;
+import me.deyo.rbw.core.outbound.OutboundQueue;
+import me.deyo.rbw.core.outbound.OutboxJournal;
+import me.deyo.rbw.core.outbound.OverflowPolicy;
 import me.deyo.rbw.model.QueueInfo;
+import me.deyo.rbw.model.QueueSnapshot;
 import me.deyo.rbw.service.MessageService;
 
+import java.io.File;
+import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.java_websocket.client.WebSocketClient;
@@ -20,17 +33,56 @@ public class WebSocketManager {
     private final MessageService messageService;
     private final AtomicBoolean shouldRetry = new AtomicBoolean(true);
     private final Object queueLock = new Object();
+    private final OutboundQueue outboundQueue;
+    private OutboxJournal outboxJournal;
     
-    private Map<String, QueueInfo> latestQueues = new HashMap<>();
+    private volatile QueueSnapshot latestQueueSnapshot = QueueSnapshot.EMPTY;
+    private long queueResyncRequestedAt = -1L;
     private int reconnectAttempts = 0;
     private boolean reconnectScheduled = false;
     private static final int MAX_RECONNECT_ATTEMPTS = 5;
+    private static final String PLAYER_STATUS_PREFIX = OutboundJson.typePrefix("PLAYER_STATUS");
+    private static final String IGN_KEY = OutboundJson.key("ign");
+    private static final String ONLINE_KEY = OutboundJson.key("online");
+    private static final String REQUEST_ID_KEY = OutboundJson.key("request_id");
     
-    private WebSocketClient currentClient = null;
+    private volatile WebSocketClient currentClient = null;
+    private volatile boolean writerRunning = false;
+    private Thread writerThread;
+    private final boolean batchingEnabled;
+    private final long batchFlushWindowNanos;
+    private final int batchMaxMessages;
     
     public WebSocketManager(RBWPlugin plugin) {
         this.plugin = plugin;
         this.messageService = new MessageService(this, plugin);
+        this.outboundQueue = new OutboundQueue(plugin.getConfigManager().getOutboundQueueCapacity());
+        this.batchingEnabled = plugin.getConfigManager().isBatchingEnabled();
+        this.batchFlushWindowNanos = TimeUnit.MILLISECONDS.toNanos(plugin.getConfigManager().getBatchFlushWindowMs());
+        this.batchMaxMessages = Math.max(1, plugin.getConfigManager().getBatchMaxMessages());
+        openOutboxJournal();
+    }
+    
+    private void openOutboxJournal() {
+        ConfigManager config = plugin.getConfigManager();
+        if (!config.isOutboxEnabled()) {
+            return;
+        }
+        
+        OutboxJournal journal = new OutboxJournal(
+                new File(plugin.getDataFolder(), "outbox.journal"),
+                config.getOutboxSizeKb() * 1024,
+                config.getOutboxFsyncBatch(),
+                config.getOutboxFsyncIntervalMs());
+        try {
+            journal.open();
+            outboxJournal = journal;
+            if (journal.getPendingCount() > 0) {
+                plugin.getLogger().info("Outbox has " + journal.getPendingCount() + " unacknowledged messages to replay");
+            }
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to open outbox journal, critical messages will not survive restarts: " + e.getMessage());
+        }
     }
     
     private static URI createURI(RBWPlugin plugin) {
@@ -56,7 +108,11 @@ public class WebSocketManager {
                 plugin.getLogger().info("WebSocket connection established");
                 reconnectAttempts = 0;
                 reconnectScheduled = false;
+                synchronized (queueLock) {
+                    queueResyncRequestedAt = -1L;
+                }
                 sendInitialData();
+                replayOutbox();
             }
             
             @Override
@@ -89,6 +145,8 @@ public class WebSocketManager {
     }
     
     public void connect() {
+        startWriter();
+        
         if (createURI(plugin) == null) {
             plugin.getLogger().severe("Cannot connect: Invalid WebSocket URI");
             return;
@@ -119,6 +177,12 @@ public class WebSocketManager {
         shouldRetry.set(false);
         reconnectScheduled = false;
         
+        stopWriter();
+        
+        if (outboxJournal != null) {
+            outboxJournal.close();
+        }
+        
         if (currentClient != null && currentClient.isOpen()) {
             try {
                 currentClient.close();
@@ -131,18 +195,254 @@ public class WebSocketManager {
     }
     
     public void sendMessage(String message) {
-        if (isConnected()) {
-            currentClient.send(message);
-        } else {
-            plugin.getLogger().warning("Cannot send message: WebSocket connection is closed");
+        sendMessage(null, message, 0L, null);
+    }
+    
+    public void sendMessage(JsonObject json) {
+        sendSerialized(json.has("type") ? json.get("type").getAsString() : null, json.toString());
+    }
+    
+    public void sendSerialized(String type, String json) {
+        sendJournaled(type, json);
+    }
+    
+    public boolean sendJournaled(String type, String json) {
+        if (outboxJournal != null && OverflowPolicy.forType(type) == OverflowPolicy.NEVER_DROP) {
+            try {
+                OutboxJournal.Entry entry = outboxJournal.append(json);
+                sendMessage(type, entry.getPayload(), entry.getSeq(), null);
+                return true;
+            } catch (IOException e) {
+                plugin.getLogger().warning("Failed to journal " + type + ", sending without durability: " + e.getMessage());
+            }
+        }
+        
+        sendMessage(type, json, 0L, null);
+        return false;
+    }
+    
+    public void sendCoalesced(String type, String json, String coalesceKey) {
+        sendMessage(type, json, 0L, coalesceKey);
+    }
+    
+    private void sendMessage(String type, String message, long seq, String coalesceKey) {
+        OverflowPolicy policy = OverflowPolicy.forType(type);
+        
+        if (!isConnected()) {
+            if (policy != OverflowPolicy.NEVER_DROP) {
+                plugin.getLogger().warning("Cannot send message: WebSocket connection is closed");
+                outboundQueue.recordDropped();
+            } else if (seq == 0L) {
+                outboundQueue.offer(new OutboundMessage(type, message, policy));
+            }
             if (!reconnectScheduled) {
                 scheduleReconnect();
             }
+            return;
+        }
+        
+        if (!outboundQueue.offer(new OutboundMessage(type, message, policy, seq, coalesceKey)) && plugin.getConfigManager().isDebugEnabled()) {
+            plugin.getLogger().warning("Outbound queue full, dropped " + (type != null ? type : "message"));
+        }
+    }
+    
+    private void startWriter() {
+        if (writerRunning) {
+            return;
+        }
+        
+        writerRunning = true;
+        writerThread = new Thread(this::runWriter, "RBW-WebSocket-Writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+    
+    private void stopWriter() {
+        if (!writerRunning) {
+            return;
+        }
+        
+        writerRunning = false;
+        try {
+            writerThread.join(2000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writerThread = null;
+    }
+    
+    private void runWriter() {
+        while (writerRunning || (isConnected() && outboundQueue.getDepth() > 0)) {
+            List<OutboundMessage> messages = null;
+            try {
+                if (outboxJournal != null) {
+                    outboxJournal.flushIfDue();
+                }
+                if (outboundQueue.hasSpilled() && outboundQueue.getDepth() <= outboundQueue.getCapacity() / 2) {
+                    replaySpilled();
+                }
+                
+                OutboundMessage first = writerRunning
+                        ? outboundQueue.poll(250L, TimeUnit.MILLISECONDS)
+                        : outboundQueue.poll();
+                if (first == null) {
+                    continue;
+                }
+                
+                messages = batchingEnabled ? collectBatch(first) : Collections.singletonList(first);
+                
+                WebSocketClient client = currentClient;
+                if (client == null || !client.isOpen()) {
+                    holdUndelivered(messages);
+                    continue;
+                }
+                
+                if (messages.size() == 1) {
+                    client.send(messages.get(0).getPayload());
+                } else {
+                    client.send(buildBatch(messages));
+                    outboundQueue.recordBatch();
+                }
+                for (OutboundMessage message : messages) {
+                    outboundQueue.recordSent(message);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                plugin.getLogger().warning("Failed to send WebSocket message: " + e.getMessage());
+                if (messages != null) {
+                    try {
+                        holdUndelivered(messages);
+                    } catch (InterruptedException interrupted) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
         }
     }
     
-    public void sendMessage(JsonObject json) {
-        sendMessage(json.toString());
+    private List<OutboundMessage> collectBatch(OutboundMessage first) throws InterruptedException {
+        List<OutboundMessage> batch = new ArrayList<>();
+        Map<String, Integer> coalesceIndex = new HashMap<>();
+        int collapsed = addToBatch(batch, coalesceIndex, first);
+        
+        long deadline = System.nanoTime() + batchFlushWindowNanos;
+        while (batch.size() - collapsed < batchMaxMessages) {
+            long remaining = deadline - System.nanoTime();
+            OutboundMessage next = remaining > 0L && writerRunning
+                    ? outboundQueue.poll(remaining, TimeUnit.NANOSECONDS)
+                    : outboundQueue.poll();
+            if (next == null) {
+                break;
+            }
+            collapsed += addToBatch(batch, coalesceIndex, next);
+        }
+        
+        if (collapsed > 0) {
+            batch.removeIf(message -> message == null);
+        }
+        return batch;
+    }
+    
+    private int addToBatch(List<OutboundMessage> batch, Map<String, Integer> coalesceIndex, OutboundMessage message) {
+        int collapsed = 0;
+        String key = message.getCoalesceKey();
+        if (key != null) {
+            Integer previous = coalesceIndex.put(key, batch.size());
+            if (previous != null) {
+                batch.set(previous, null);
+                outboundQueue.recordCoalesced();
+                collapsed = 1;
+            }
+        }
+        batch.add(message);
+        return collapsed;
+    }
+    
+    private String buildBatch(List<OutboundMessage> messages) {
+        int length = 32;
+        for (OutboundMessage message : messages) {
+            length += message.getPayload().length() + 1;
+        }
+        
+        StringBuilder builder = new StringBuilder(length);
+        builder.append("{\"type\":\"BATCH\",\"messages\":[");
+        for (int i = 0; i < messages.size(); i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(messages.get(i).getPayload());
+        }
+        return builder.append("]}").toString();
+    }
+    
+    private void holdUndelivered(List<OutboundMessage> messages) throws InterruptedException {
+        List<OutboundMessage> held = new ArrayList<>();
+        for (OutboundMessage message : messages) {
+            if (message.isDroppable()) {
+                outboundQueue.recordDropped();
+            } else if (!message.isJournaled()) {
+                held.add(message);
+            }
+        }
+        
+        if (!held.isEmpty()) {
+            outboundQueue.requeueFirst(held);
+            if (writerRunning) {
+                Thread.sleep(100L);
+            }
+        }
+    }
+    
+    private void replayOutbox() {
+        if (outboxJournal == null) {
+            return;
+        }
+        
+        outboundQueue.takeSpilledSeqs();
+        List<OutboxJournal.Entry> entries = outboxJournal.getPendingEntries();
+        if (entries.isEmpty()) {
+            return;
+        }
+        
+        for (OutboxJournal.Entry entry : entries) {
+            outboundQueue.offer(new OutboundMessage(null, entry.getPayload(), OverflowPolicy.NEVER_DROP, entry.getSeq()));
+        }
+        plugin.getLogger().info("Replaying " + entries.size() + " unacknowledged outbox messages");
+    }
+    
+    private void replaySpilled() {
+        Set<Long> spilled = outboundQueue.takeSpilledSeqs();
+        if (spilled.isEmpty() || outboxJournal == null) {
+            return;
+        }
+        
+        int replayed = 0;
+        for (OutboxJournal.Entry entry : outboxJournal.getPendingEntries()) {
+            if (spilled.contains(entry.getSeq())) {
+                outboundQueue.offer(new OutboundMessage(null, entry.getPayload(), OverflowPolicy.NEVER_DROP, entry.getSeq()));
+                replayed++;
+            }
+        }
+        if (plugin.getConfigManager().isDebugEnabled()) {
+            plugin.getLogger().info("Re-queued " + replayed + " journaled messages that overflowed the outbound queue");
+        }
+    }
+    
+    public void acknowledge(long seq) {
+        if (outboxJournal != null) {
+            outboxJournal.acknowledge(seq);
+        }
+    }
+    
+    public OutboundQueue getOutboundQueue() {
+        return outboundQueue;
+    }
+    
+    public OutboxJournal getOutboxJournal() {
+        return outboxJournal;
     }
     
     public void sendPlayerStatus(String playerName, boolean online) {
@@ -150,26 +450,71 @@ public class WebSocketManager {
     }
     
     public void sendPlayerStatus(String playerName, boolean online, String requestId) {
-        JsonObject response = new JsonObject();
-        response.addProperty("type", "PLAYER_STATUS");
-        response.addProperty("ign", playerName);
-        response.addProperty("online", online);
+        OutboundJson response = OutboundJson.start(PLAYER_STATUS_PREFIX)
+            .field(IGN_KEY, playerName)
+            .field(ONLINE_KEY, online);
         if (requestId != null) {
-            response.addProperty("request_id", requestId);
+            sendSerialized("PLAYER_STATUS", response.field(REQUEST_ID_KEY, requestId).finish());
+        } else {
+            sendMessage("PLAYER_STATUS", response.finish(), 0L, "PLAYER_STATUS:" + playerName);
         }
-        sendMessage(response);
     }
     
     public Map<String, QueueInfo> getLatestQueuesSnapshot() {
+        return getLatestQueueSnapshot().getQueues();
+    }
+    
+    public QueueSnapshot getLatestQueueSnapshot() {
+        return latestQueueSnapshot;
+    }
+    
+    public void updateQueues(Map<String, QueueInfo> queues) {
+        updateQueues(queues, 0L);
+    }
+    
+    public void updateQueues(Map<String, QueueInfo> queues, long version) {
         synchronized (queueLock) {
-            return Collections.unmodifiableMap(new HashMap<>(latestQueues));
+            latestQueueSnapshot = latestQueueSnapshot.next(queues, version);
+            queueResyncRequestedAt = -1L;
         }
     }
     
-    public void updateQueues(Map<String, QueueInfo> queues) {
+    public void applyQueueDelta(long version, Consumer<QueueSnapshot> changes) {
+        long currentVersion;
         synchronized (queueLock) {
-            latestQueues = new HashMap<>(queues);
+            QueueSnapshot current = latestQueueSnapshot;
+            currentVersion = current.getSourceVersion();
+            if (version <= currentVersion) {
+                return;
+            }
+            
+            if (version == currentVersion + 1) {
+                if (current == QueueSnapshot.EMPTY) {
+                    current = current.next(Collections.emptyMap(), currentVersion);
+                    latestQueueSnapshot = current;
+                }
+                changes.accept(current);
+                current.commit(version);
+                return;
+            }
+            
+            long now = System.nanoTime();
+            if (queueResyncRequestedAt != -1L
+                    && now - queueResyncRequestedAt < TimeUnit.MILLISECONDS.toNanos(plugin.getConfigManager().getQueueResyncTimeoutMs())) {
+                return;
+            }
+            queueResyncRequestedAt = now;
         }
+        
+        plugin.getLogger().warning("Queue delta gap detected (received version " + version + "), requesting full queue status");
+        JsonObject request = new JsonObject();
+        request.addProperty("type", "QUEUE_RESYNC");
+        request.addProperty("version", currentVersion);
+        sendMessage("QUEUE_RESYNC", request.toString(), 0L, null);
+    }
+    
+    public long getQueueVersion() {
+        return latestQueueSnapshot.getSourceVersion();
     }
     
     private void sendInitialData() {
@@ -0,0 +1,161 @@
+package me.deyo.rbw.core.outbound;
+
+public final class OutboundJson {
+    
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+    private static final String[] CONTROL_ESCAPES = new String[32];
+    private static final String SEQ_KEY = ",\"seq\":";
+    private static final ThreadLocal<OutboundJson> WRITERS = ThreadLocal.withInitial(OutboundJson::new);
+    
+    static {
+        for (int i = 0; i < CONTROL_ESCAPES.length; i++) {
+            CONTROL_ESCAPES[i] = String.format("\\u%04x", i);
+        }
+        CONTROL_ESCAPES['\t'] = "\\t";
+        CONTROL_ESCAPES['\b'] = "\\b";
+        CONTROL_ESCAPES['\n'] = "\\n";
+        CONTROL_ESCAPES['\r'] = "\\r";
+        CONTROL_ESCAPES['\f'] = "\\f";
+    }
+    
+    private StringBuilder builder = new StringBuilder(256);
+    
+    private OutboundJson() {
+    }
+    
+    public static String key(String name) {
+        StringBuilder fragment = new StringBuilder(name.length() + 3);
+        appendQuoted(fragment, name);
+        return fragment.append(':').toString();
+    }
+    
+    public static String typePrefix(String type) {
+        StringBuilder fragment = new StringBuilder("{\"type\":");
+        appendQuoted(fragment, type);
+        return fragment.toString();
+    }
+    
+    public static OutboundJson start(String typePrefix) {
+        OutboundJson writer = WRITERS.get();
+        writer.builder.setLength(0);
+        writer.builder.append(typePrefix);
+        return writer;
+    }
+    
+    public static String withSeq(String json, long seq) {
+        int end = json.lastIndexOf('}');
+        StringBuilder payload = new StringBuilder(json.length() + 24);
+        return payload.append(json, 0, end).append(SEQ_KEY).append(seq).append(json, end, json.length()).toString();
+    }
+    
+    public OutboundJson field(String key, String value) {
+        separate().append(key);
+        if (value == null) {
+            builder.append("null");
+        } else {
+            appendQuoted(builder, value);
+        }
+        return this;
+    }
+    
+    public OutboundJson field(String key, boolean value) {
+        separate().append(key).append(value);
+        return this;
+    }
+    
+    public OutboundJson field(String key, int value) {
+        separate().append(key).append(value);
+        return this;
+    }
+    
+    public OutboundJson field(String key, long value) {
+        separate().append(key).append(value);
+        return this;
+    }
+    
+    public OutboundJson field(String key, double value) {
+        separate().append(key).append(value);
+        return this;
+    }
+    
+    public OutboundJson beginObject(String key) {
+        separate().append(key).append('{');
+        return this;
+    }
+    
+    public OutboundJson beginObjectNamed(String name) {
+        appendQuoted(separate(), name);
+        builder.append(":{");
+        return this;
+    }
+    
+    public OutboundJson endObject() {
+        builder.append('}');
+        return this;
+    }
+    
+    public OutboundJson beginArray(String key) {
+        separate().append(key).append('[');
+        return this;
+    }
+    
+    public OutboundJson element(String value) {
+        appendQuoted(separate(), value);
+        return this;
+    }
+    
+    public OutboundJson endArray() {
+        builder.append(']');
+        return this;
+    }
+    
+    public String finish() {
+        String json = builder.append('}').toString();
+        if (builder.capacity() > MAX_RETAINED_CAPACITY) {
+            builder = new StringBuilder(256);
+        } else {
+            builder.setLength(0);
+        }
+        return json;
+    }
+    
+    private StringBuilder separate() {
+        char last = builder.charAt(builder.length() - 1);
+        if (last != '{' && last != '[') {
+            builder.append(',');
+        }
+        return builder;
+    }
+    
+    private static void appendQuoted(StringBuilder target, String value) {
+        target.append('"');
+        int last = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            String replacement;
+            if (c < 32) {
+                replacement = CONTROL_ESCAPES[c];
+            } else if (c == '"') {
+                replacement = "\\\"";
+            } else if (c == '\\') {
+                replacement = "\\\\";
+            } else if (c == '\u2028') {
+                replacement = "\\u2028";
+            } else if (c == '\u2029') {
+                replacement = "\\u2029";
+            } else {
+                continue;
+            }
+            if (last < i) {
+                target.append(value, last, i);
+            }
+            target.append(replacement);
+            last = i + 1;
+        }
+        if (last < length) {
+            target.append(value, last, length);
+        }
+        target.append('"');
+    }
+}
@@ -0,0 +1,60 @@
+package me.deyo.rbw.core.outbound;
+
+public class OutboundMessage {
+    
+    private final String type;
+    private final String payload;
+    private final OverflowPolicy policy;
+    private final long seq;
+    private final String coalesceKey;
+    private final long enqueuedAt;
+    
+    public OutboundMessage(String type, String payload, OverflowPolicy policy) {
+        this(type, payload, policy, 0L);
+    }
+    
+    public OutboundMessage(String type, String payload, OverflowPolicy policy, long seq) {
+        this(type, payload, policy, seq, null);
+    }
+    
+    public OutboundMessage(String type, String payload, OverflowPolicy policy, long seq, String coalesceKey) {
+        this.type = type;
+        this.payload = payload;
+        this.policy = policy;
+        this.seq = seq;
+        this.coalesceKey = coalesceKey;
+        this.enqueuedAt = System.nanoTime();
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public String getPayload() {
+        return payload;
+    }
+    
+    public OverflowPolicy getPolicy() {
+        return policy;
+    }
+    
+    public long getSeq() {
+        return seq;
+    }
+    
+    public boolean isJournaled() {
+        return seq > 0L;
+    }
+    
+    public String getCoalesceKey() {
+        return coalesceKey;
+    }
+    
+    public long getEnqueuedAt() {
+        return enqueuedAt;
+    }
+    
+    public boolean isDroppable() {
+        return policy != OverflowPolicy.NEVER_DROP;
+    }
+}
@@ -0,0 +1,205 @@
+package me.deyo.rbw.core.outbound;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class OutboundQueue {
+    
+    private final ArrayDeque<OutboundMessage> messages = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final int capacity;
+    
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong totalSendLatencyNanos = new AtomicLong();
+    private volatile int highWaterMark;
+    private Set<Long> spilledSeqs = new HashSet<>();
+    private volatile boolean hasSpilled;
+    
+    public OutboundQueue(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+    
+    public boolean offer(OutboundMessage message) {
+        lock.lock();
+        try {
+            if (messages.size() >= capacity && !makeRoomFor(message)) {
+                if (message.isJournaled()) {
+                    spill(message.getSeq());
+                } else {
+                    dropped.incrementAndGet();
+                }
+                return false;
+            }
+            
+            messages.addLast(message);
+            enqueued.incrementAndGet();
+            if (messages.size() > highWaterMark) {
+                highWaterMark = messages.size();
+            }
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private boolean makeRoomFor(OutboundMessage message) {
+        switch (message.getPolicy()) {
+            case DROP_OLDEST:
+                return evictOldest(message.getType());
+            case NEVER_DROP:
+                return evictOldest(null);
+            default:
+                return false;
+        }
+    }
+    
+    private boolean evictOldest(String type) {
+        Iterator<OutboundMessage> iterator = messages.iterator();
+        while (iterator.hasNext()) {
+            OutboundMessage queued = iterator.next();
+            if (queued.isDroppable() && (type == null || Objects.equals(type, queued.getType()))) {
+                iterator.remove();
+                dropped.incrementAndGet();
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private void spill(long seq) {
+        spilledSeqs.add(seq);
+        hasSpilled = true;
+        spilled.incrementAndGet();
+    }
+    
+    public boolean hasSpilled() {
+        return hasSpilled;
+    }
+    
+    public Set<Long> takeSpilledSeqs() {
+        lock.lock();
+        try {
+            Set<Long> seqs = spilledSeqs;
+            spilledSeqs = new HashSet<>();
+            hasSpilled = false;
+            return seqs;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public OutboundMessage poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (messages.isEmpty()) {
+                if (remaining <= 0L) {
+                    return null;
+                }
+                remaining = notEmpty.awaitNanos(remaining);
+            }
+            return messages.pollFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public OutboundMessage poll() {
+        lock.lock();
+        try {
+            return messages.pollFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public void requeueFirst(List<OutboundMessage> held) {
+        lock.lock();
+        try {
+            for (int i = held.size() - 1; i >= 0; i--) {
+                messages.addFirst(held.get(i));
+            }
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public void recordSent(OutboundMessage message) {
+        sent.incrementAndGet();
+        totalSendLatencyNanos.addAndGet(System.nanoTime() - message.getEnqueuedAt());
+    }
+    
+    public void recordDropped() {
+        dropped.incrementAndGet();
+    }
+    
+    public void recordBatch() {
+        batches.incrementAndGet();
+    }
+    
+    public void recordCoalesced() {
+        coalesced.incrementAndGet();
+    }
+    
+    public int getDepth() {
+        lock.lock();
+        try {
+            return messages.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+    
+    public long getEnqueuedCount() {
+        return enqueued.get();
+    }
+    
+    public long getSentCount() {
+        return sent.get();
+    }
+    
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+    
+    public long getSpilledCount() {
+        return spilled.get();
+    }
+    
+    public long getBatchCount() {
+        return batches.get();
+    }
+    
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+    
+    public double getAverageSendLatencyMillis() {
+        long count = sent.get();
+        return count == 0L ? 0.0 : totalSendLatencyNanos.get() / (count * 1_000_000.0);
+    }
+}
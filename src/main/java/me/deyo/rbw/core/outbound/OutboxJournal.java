@@ -0,0 +1,234 @@
+package me.deyo.rbw.core.outbound;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+public class OutboxJournal {
+    
+    private static final int MAGIC = 0x52425701;
+    private static final int HEADER_SIZE = 32;
+    private static final int RECORD_HEADER_SIZE = 12;
+    
+    private final File file;
+    private final int initialSize;
+    private final int fsyncBatchSize;
+    private final long fsyncIntervalNanos;
+    private final ArrayDeque<Entry> pending = new ArrayDeque<>();
+    
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long lastSeq;
+    private long ackedSeq;
+    private int writePosition;
+    private int unflushed;
+    private long lastForceAt;
+    
+    public OutboxJournal(File file, int initialSize, int fsyncBatchSize, long fsyncIntervalMillis) {
+        this.file = file;
+        this.initialSize = Math.max(HEADER_SIZE + RECORD_HEADER_SIZE, initialSize);
+        this.fsyncBatchSize = Math.max(1, fsyncBatchSize);
+        this.fsyncIntervalNanos = Math.max(0L, fsyncIntervalMillis) * 1_000_000L;
+    }
+    
+    public synchronized void open() throws IOException {
+        channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long existingSize = channel.size();
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(initialSize, existingSize));
+        
+        if (existingSize >= HEADER_SIZE && buffer.getInt(0) == MAGIC) {
+            load();
+        } else {
+            lastSeq = 0L;
+            ackedSeq = 0L;
+            writePosition = HEADER_SIZE;
+            buffer.putInt(HEADER_SIZE, 0);
+            writeHeader();
+            force();
+        }
+        lastForceAt = System.nanoTime();
+    }
+    
+    private void load() {
+        ackedSeq = buffer.getLong(8);
+        lastSeq = buffer.getLong(16);
+        
+        int position = HEADER_SIZE;
+        while (position + RECORD_HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + RECORD_HEADER_SIZE + length > buffer.capacity()) {
+                break;
+            }
+            
+            long seq = buffer.getLong(position + 4);
+            if (seq > ackedSeq) {
+                byte[] bytes = new byte[length];
+                ByteBuffer view = buffer.duplicate();
+                view.position(position + RECORD_HEADER_SIZE);
+                view.get(bytes);
+                pending.addLast(new Entry(seq, new String(bytes, StandardCharsets.UTF_8)));
+            }
+            lastSeq = Math.max(lastSeq, seq);
+            position += RECORD_HEADER_SIZE + length;
+        }
+        writePosition = position;
+    }
+    
+    public synchronized Entry append(String json) throws IOException {
+        long seq = lastSeq + 1;
+        String payload = OutboundJson.withSeq(json, seq);
+        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+        
+        ensureCapacity(RECORD_HEADER_SIZE + bytes.length + 4);
+        
+        int position = writePosition;
+        int next = position + RECORD_HEADER_SIZE + bytes.length;
+        buffer.putInt(next, 0);
+        buffer.putLong(position + 4, seq);
+        ByteBuffer view = buffer.duplicate();
+        view.position(position + RECORD_HEADER_SIZE);
+        view.put(bytes);
+        buffer.putInt(position, bytes.length);
+        
+        writePosition = next;
+        lastSeq = seq;
+        writeHeader();
+        
+        Entry entry = new Entry(seq, payload);
+        pending.addLast(entry);
+        unflushed++;
+        return entry;
+    }
+    
+    private void ensureCapacity(int required) throws IOException {
+        if (writePosition + required <= buffer.capacity()) {
+            return;
+        }
+        
+        long pendingBytes = 0L;
+        for (Entry entry : pending) {
+            pendingBytes += RECORD_HEADER_SIZE + entry.getPayload().getBytes(StandardCharsets.UTF_8).length;
+        }
+        if (HEADER_SIZE + pendingBytes + required <= buffer.capacity()) {
+            rewritePending();
+            return;
+        }
+        
+        long newSize = Math.max((long) buffer.capacity() * 2, HEADER_SIZE + pendingBytes + required);
+        if (newSize > Integer.MAX_VALUE) {
+            throw new IOException("Outbox journal is full");
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, newSize);
+    }
+    
+    private void rewritePending() {
+        int position = HEADER_SIZE;
+        for (Entry entry : pending) {
+            byte[] bytes = entry.getPayload().getBytes(StandardCharsets.UTF_8);
+            buffer.putInt(position, bytes.length);
+            buffer.putLong(position + 4, entry.getSeq());
+            ByteBuffer view = buffer.duplicate();
+            view.position(position + RECORD_HEADER_SIZE);
+            view.put(bytes);
+            position += RECORD_HEADER_SIZE + bytes.length;
+        }
+        buffer.putInt(position, 0);
+        writePosition = position;
+        unflushed++;
+    }
+    
+    public synchronized void acknowledge(long seq) {
+        if (seq <= ackedSeq || buffer == null) {
+            return;
+        }
+        
+        ackedSeq = Math.min(seq, lastSeq);
+        while (!pending.isEmpty() && pending.peekFirst().getSeq() <= ackedSeq) {
+            pending.pollFirst();
+        }
+        
+        if (pending.isEmpty()) {
+            writePosition = HEADER_SIZE;
+            buffer.putInt(HEADER_SIZE, 0);
+        }
+        writeHeader();
+        unflushed++;
+    }
+    
+    public synchronized List<Entry> getPendingEntries() {
+        return new ArrayList<>(pending);
+    }
+    
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+    
+    public synchronized long getLastSeq() {
+        return lastSeq;
+    }
+    
+    public synchronized long getAckedSeq() {
+        return ackedSeq;
+    }
+    
+    public void flushIfDue() {
+        MappedByteBuffer target;
+        synchronized (this) {
+            if (buffer == null || unflushed == 0
+                    || (unflushed < fsyncBatchSize && System.nanoTime() - lastForceAt < fsyncIntervalNanos)) {
+                return;
+            }
+            target = buffer;
+            unflushed = 0;
+            lastForceAt = System.nanoTime();
+        }
+        target.force();
+    }
+    
+    public synchronized void close() {
+        if (buffer == null) {
+            return;
+        }
+        
+        force();
+        try {
+            channel.close();
+        } catch (IOException ignored) {}
+        buffer = null;
+        channel = null;
+    }
+    
+    private void writeHeader() {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, 1);
+        buffer.putLong(8, ackedSeq);
+        buffer.putLong(16, lastSeq);
+    }
+    
+    private void force() {
+        buffer.force();
+        unflushed = 0;
+        lastForceAt = System.nanoTime();
+    }
+    
+    public static class Entry {
+        private final long seq;
+        private final String payload;
+        
+        public Entry(long seq, String payload) {
+            this.seq = seq;
+            this.payload = payload;
+        }
+        
+        public long getSeq() { return seq; }
+        public String getPayload() { return payload; }
+    }
+}
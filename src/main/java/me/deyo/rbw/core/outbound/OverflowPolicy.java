@@ -0,0 +1,24 @@
+package me.deyo.rbw.core.outbound;
+
+public enum OverflowPolicy {
+    
+    DROP_OLDEST,
+    DROP_NEWEST,
+    NEVER_DROP;
+    
+    public static OverflowPolicy forType(String type) {
+        if (type == null) {
+            return DROP_NEWEST;
+        }
+        
+        if (type.equals("PLAYER_STATUS") || type.equals("WARP_PROGRESS")) {
+            return DROP_OLDEST;
+        }
+        
+        if (type.equals("scoring") || type.equals("GAME_ABORTED") || type.equals("QUEUE_RESYNC") || type.startsWith("WARP_") || type.startsWith("RETRY_")) {
+            return NEVER_DROP;
+        }
+        
+        return DROP_NEWEST;
+    }
+}
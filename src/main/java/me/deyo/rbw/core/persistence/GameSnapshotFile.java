@@ -0,0 +1,329 @@
+package me.deyo.rbw.core.persistence;
+
+import me.deyo.rbw.model.Game;
+import me.deyo.rbw.model.PlayerStatsTable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+public class GameSnapshotFile {
+    
+    private static final int MAGIC = 0x52425702;
+    private static final int FORMAT = 2;
+    private static final int HEADER_SIZE = 16;
+    private static final int PAGE_HEADER_SIZE = 8;
+    private static final int MIN_PAGE_SIZE = 512;
+    private static final PlayerStatsTable.Stat[] STATS = PlayerStatsTable.Stat.values();
+    
+    private final File file;
+    private final int initialPages;
+    private final BitSet usedPages = new BitSet();
+    private final Map<String, Page> pagesByGame = new HashMap<>();
+    private final CRC32 crc = new CRC32();
+    
+    private int pageSize;
+    private ByteBuffer scratch;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int pageCount;
+    
+    public GameSnapshotFile(File file, int pageSize, int initialPages) {
+        this.file = file;
+        this.pageSize = Math.max(MIN_PAGE_SIZE, pageSize);
+        this.initialPages = Math.max(1, initialPages);
+    }
+    
+    public synchronized List<PersistedGame> open() throws IOException {
+        channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long existingSize = channel.size();
+        
+        if (existingSize >= HEADER_SIZE) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, existingSize);
+            if (buffer.getInt(0) == MAGIC && buffer.getInt(4) == FORMAT
+                    && buffer.getInt(8) >= MIN_PAGE_SIZE && buffer.getInt(12) > 0
+                    && HEADER_SIZE + (long) buffer.getInt(8) * buffer.getInt(12) <= existingSize) {
+                pageSize = buffer.getInt(8);
+                pageCount = buffer.getInt(12);
+                return load();
+            }
+        }
+        
+        pageCount = initialPages;
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) pageSize * pageCount);
+        for (int page = 0; page < pageCount; page++) {
+            buffer.putInt(HEADER_SIZE + page * pageSize, 0);
+        }
+        writeHeader();
+        buffer.force();
+        return new ArrayList<>();
+    }
+    
+    private List<PersistedGame> load() {
+        Map<String, PersistedGame> games = new LinkedHashMap<>();
+        for (int index = 0; index < pageCount; index++) {
+            int position = HEADER_SIZE + index * pageSize;
+            PersistedGame game = readPage(position);
+            if (game == null) {
+                buffer.putInt(position, 0);
+                continue;
+            }
+            
+            long generation = buffer.getLong(position + PAGE_HEADER_SIZE);
+            Page page = pagesByGame.get(game.getGameId());
+            if (page == null) {
+                page = new Page();
+                page.version = -1;
+                pagesByGame.put(game.getGameId(), page);
+            } else if (page.slots[1] != -1) {
+                buffer.putInt(position, 0);
+                continue;
+            }
+            
+            usedPages.set(index);
+            int slot = page.slots[0] == -1 ? 0 : 1;
+            page.slots[slot] = index;
+            if (slot == 0 || generation > page.generation) {
+                page.active = slot;
+                page.generation = generation;
+                games.put(game.getGameId(), game);
+            }
+        }
+        return new ArrayList<>(games.values());
+    }
+    
+    private PersistedGame readPage(int position) {
+        int length = buffer.getInt(position);
+        if (length <= 0 || length > pageSize - PAGE_HEADER_SIZE) {
+            return null;
+        }
+        
+        byte[] body = new byte[length];
+        ByteBuffer view = buffer.duplicate();
+        view.position(position + PAGE_HEADER_SIZE);
+        view.get(body);
+        
+        crc.reset();
+        crc.update(body, 0, length);
+        if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+            return null;
+        }
+        
+        try {
+            return decode(ByteBuffer.wrap(body));
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    private PersistedGame decode(ByteBuffer in) {
+        in.getLong();
+        long savedAt = in.getLong();
+        String gameId = readString(in);
+        String arenaName = readString(in);
+        long startedAt = in.getLong();
+        List<String> team1 = readNames(in);
+        List<String> team2 = readNames(in);
+        
+        int statCount = in.get() & 0xFF;
+        int playerCount = in.getShort() & 0xFFFF;
+        String[] players = new String[playerCount];
+        int[] values = new int[playerCount * statCount];
+        for (int i = 0; i < playerCount; i++) {
+            players[i] = readString(in);
+            for (int stat = 0; stat < statCount; stat++) {
+                values[i * statCount + stat] = in.getInt();
+            }
+        }
+        return new PersistedGame(gameId, arenaName, startedAt, savedAt, team1, team2, players, statCount, values);
+    }
+    
+    public synchronized boolean isDirty(Game game) {
+        Page page = pagesByGame.get(game.getGameId());
+        return page == null || page.version != game.getStatsTable().getVersion();
+    }
+    
+    public synchronized boolean write(Game game) throws IOException {
+        if (buffer == null) {
+            return false;
+        }
+        
+        int version = game.getStatsTable().getVersion();
+        if (scratch == null || scratch.capacity() != pageSize - PAGE_HEADER_SIZE) {
+            scratch = ByteBuffer.allocate(pageSize - PAGE_HEADER_SIZE);
+        }
+        scratch.clear();
+        try {
+            encode(game);
+        } catch (BufferOverflowException e) {
+            throw new IOException("Game " + game.getGameId() + " does not fit in a " + pageSize + " byte snapshot page");
+        }
+        
+        Page page = pagesByGame.get(game.getGameId());
+        if (page == null) {
+            page = new Page();
+            page.active = 1;
+            pagesByGame.put(game.getGameId(), page);
+        }
+        
+        int target = 1 - page.active;
+        if (page.slots[target] == -1) {
+            page.slots[target] = allocatePage();
+        }
+        
+        long generation = page.generation + 1;
+        scratch.putLong(0, generation);
+        int length = scratch.position();
+        crc.reset();
+        crc.update(scratch.array(), 0, length);
+        
+        int position = HEADER_SIZE + page.slots[target] * pageSize;
+        buffer.putInt(position, 0);
+        ByteBuffer view = buffer.duplicate();
+        view.position(position + PAGE_HEADER_SIZE);
+        view.put(scratch.array(), 0, length);
+        buffer.putInt(position + 4, (int) crc.getValue());
+        buffer.putInt(position, length);
+        
+        page.active = target;
+        page.generation = generation;
+        page.version = version;
+        return true;
+    }
+    
+    private void encode(Game game) {
+        scratch.putLong(0L);
+        scratch.putLong(System.currentTimeMillis());
+        writeString(game.getGameId());
+        writeString(game.getArenaName());
+        scratch.putLong(game.getStartTime() != null ? game.getStartTime().toEpochMilli() : 0L);
+        writeNames(game.getTeam1Players());
+        writeNames(game.getTeam2Players());
+        
+        PlayerStatsTable.Snapshot snapshot = game.getStatsTable().snapshot();
+        scratch.put((byte) STATS.length);
+        scratch.putShort((short) snapshot.size());
+        for (int slot = 0; slot < snapshot.size(); slot++) {
+            writeString(snapshot.getName(slot));
+            for (PlayerStatsTable.Stat stat : STATS) {
+                scratch.putInt(snapshot.get(slot, stat));
+            }
+        }
+    }
+    
+    public synchronized void remove(String gameId) {
+        Page page = pagesByGame.remove(gameId);
+        if (page == null || buffer == null) {
+            return;
+        }
+        
+        for (int index : page.slots) {
+            if (index != -1) {
+                buffer.putInt(HEADER_SIZE + index * pageSize, 0);
+                usedPages.clear(index);
+            }
+        }
+    }
+    
+    public synchronized int getPersistedCount() {
+        return pagesByGame.size();
+    }
+    
+    public synchronized void force() {
+        if (buffer != null) {
+            buffer.force();
+        }
+    }
+    
+    public synchronized void close() {
+        if (buffer == null) {
+            return;
+        }
+        
+        buffer.force();
+        try {
+            channel.close();
+        } catch (IOException ignored) {}
+        buffer = null;
+        channel = null;
+    }
+    
+    private int allocatePage() throws IOException {
+        int index = usedPages.nextClearBit(0);
+        if (index >= pageCount) {
+            grow(pageCount * 2);
+        }
+        usedPages.set(index);
+        return index;
+    }
+    
+    private void grow(int newPageCount) throws IOException {
+        buffer.force();
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) pageSize * newPageCount);
+        for (int page = pageCount; page < newPageCount; page++) {
+            buffer.putInt(HEADER_SIZE + page * pageSize, 0);
+        }
+        pageCount = newPageCount;
+        writeHeader();
+    }
+    
+    private void writeHeader() {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, FORMAT);
+        buffer.putInt(8, pageSize);
+        buffer.putInt(12, pageCount);
+    }
+    
+    private void writeNames(List<String> names) {
+        scratch.putShort((short) names.size());
+        for (String name : names) {
+            writeString(name);
+        }
+    }
+    
+    private void writeString(String value) {
+        byte[] bytes = value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        scratch.putShort((short) bytes.length);
+        scratch.put(bytes);
+    }
+    
+    private static List<String> readNames(ByteBuffer in) {
+        int count = in.getShort() & 0xFFFF;
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(readString(in));
+        }
+        return names;
+    }
+    
+    private static String readString(ByteBuffer in) {
+        int length = in.getShort() & 0xFFFF;
+        if (length > in.remaining()) {
+            throw new IllegalArgumentException("Truncated string");
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    private static final class Page {
+        private final int[] slots = {-1, -1};
+        private int active;
+        private long generation;
+        private int version;
+    }
+}
@@ -0,0 +1,69 @@
+package me.deyo.rbw.core.persistence;
+
+import me.deyo.rbw.model.PlayerStatsTable;
+
+import java.util.Collections;
+import java.util.List;
+
+public final class PersistedGame {
+    
+    private final String gameId;
+    private final String arenaName;
+    private final long startedAt;
+    private final long savedAt;
+    private final List<String> team1Players;
+    private final List<String> team2Players;
+    private final String[] players;
+    private final int statCount;
+    private final int[] values;
+    
+    PersistedGame(String gameId, String arenaName, long startedAt, long savedAt,
+                  List<String> team1Players, List<String> team2Players,
+                  String[] players, int statCount, int[] values) {
+        this.gameId = gameId;
+        this.arenaName = arenaName;
+        this.startedAt = startedAt;
+        this.savedAt = savedAt;
+        this.team1Players = team1Players;
+        this.team2Players = team2Players;
+        this.players = players;
+        this.statCount = statCount;
+        this.values = values;
+    }
+    
+    public String getGameId() {
+        return gameId;
+    }
+    
+    public String getArenaName() {
+        return arenaName;
+    }
+    
+    public long getStartedAt() {
+        return startedAt;
+    }
+    
+    public long getSavedAt() {
+        return savedAt;
+    }
+    
+    public List<String> getTeam1Players() {
+        return Collections.unmodifiableList(team1Players);
+    }
+    
+    public List<String> getTeam2Players() {
+        return Collections.unmodifiableList(team2Players);
+    }
+    
+    public int getPlayerCount() {
+        return players.length;
+    }
+    
+    public String getPlayer(int index) {
+        return players[index];
+    }
+    
+    public int get(int index, PlayerStatsTable.Stat stat) {
+        return stat.ordinal() < statCount ? values[index * statCount + stat.ordinal()] : 0;
+    }
+}
@@ -0,0 +1,72 @@
+package me.deyo.rbw.listeners;
+
+import com.andrei1058.bedwars.api.arena.IArena;
+import com.andrei1058.bedwars.api.events.gameplay.GameStateChangeEvent;
+import com.andrei1058.bedwars.api.events.player.PlayerJoinArenaEvent;
+import com.andrei1058.bedwars.api.events.player.PlayerLeaveArenaEvent;
+import com.andrei1058.bedwars.api.events.server.ArenaDisableEvent;
+import com.andrei1058.bedwars.api.events.server.ArenaEnableEvent;
+import com.andrei1058.bedwars.api.events.server.ArenaRestartEvent;
+import me.deyo.rbw.RBWPlugin;
+import me.deyo.rbw.service.arena.ArenaPool;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+
+public class ArenaPoolListener implements Listener {
+    
+    private final RBWPlugin plugin;
+    private final ArenaPool arenaPool;
+    
+    public ArenaPoolListener(RBWPlugin plugin) {
+        this.plugin = plugin;
+        this.arenaPool = plugin.getArenaPool();
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onArenaEnable(ArenaEnableEvent event) {
+        arenaPool.track(event.getArena());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onArenaDisable(ArenaDisableEvent event) {
+        plugin.getArenaLeaseManager().release(event.getArenaName());
+        plugin.getChunkPreloader().release(event.getArenaName());
+        arenaPool.untrack(event.getArenaName());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onArenaRestart(ArenaRestartEvent event) {
+        plugin.getArenaLeaseManager().release(event.getArenaName());
+        plugin.getChunkPreloader().release(event.getArenaName());
+        arenaPool.untrack(event.getArenaName());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onGameStateChange(GameStateChangeEvent event) {
+        arenaPool.refresh(event.getArena());
+    }
+    
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onReservedArenaJoin(PlayerJoinArenaEvent event) {
+        if (!event.isSpectator() && event.getArena() != null
+                && plugin.getArenaPrewarmer().isReserved(event.getArena().getArenaName())) {
+            event.setCancelled(true);
+        }
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerJoinArena(PlayerJoinArenaEvent event) {
+        if (!event.isSpectator() && event.getArena() != null) {
+            arenaPool.markUnavailable(event.getArena().getArenaName());
+        }
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerLeaveArena(PlayerLeaveArenaEvent event) {
+        IArena arena = event.getArena();
+        if (!event.isSpectator() && arena != null) {
+            plugin.getServer().getScheduler().runTask(plugin, () -> arenaPool.refresh(arena));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package me.deyo.rbw.listeners;
+
+import me.deyo.rbw.RBWPlugin;
+import org.bukkit.Chunk;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkUnloadEvent;
+
+public class ChunkPinListener implements Listener {
+    
+    private final RBWPlugin plugin;
+    
+    public ChunkPinListener(RBWPlugin plugin) {
+        this.plugin = plugin;
+    }
+    
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        Chunk chunk = event.getChunk();
+        if (plugin.getChunkPreloader().getPinnedCount() > 0
+                && plugin.getChunkPreloader().isPinned(chunk.getWorld(), chunk.getX(), chunk.getZ())) {
+            event.setCancelled(true);
+        }
+    }
+}
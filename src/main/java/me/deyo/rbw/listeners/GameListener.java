@@ -7,29 +7,54 @@ import com.andrei1058.bedwars.api.events.player.PlayerBedBreakEvent;
 import com.andrei1058.bedwars.api.events.player.PlayerKillEvent;
 import com.andrei1058.bedwars.api.events.server.ArenaEnableEvent;
 import com.andrei1058.bedwars.api.events.gameplay.GameStateChangeEvent;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
 import me.deyo.rbw.RBWPlugin;
+import me.deyo.rbw.core.outbound.OutboundJson;
 import me.deyo.rbw.model.Game;
+import me.deyo.rbw.model.GameTimeline;
+import me.deyo.rbw.model.PlayerStatsTable;
 import me.deyo.rbw.service.arena.ArenaService;
 import me.deyo.rbw.service.game.GameSetupService;
 import org.bukkit.Bukkit;
-import org.bukkit.Material;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
-import org.bukkit.event.block.BlockPlaceEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
-import org.bukkit.event.player.PlayerPickupItemEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Set;
 
 public class GameListener implements Listener {
     
+    private static final String SCORING_PREFIX = OutboundJson.typePrefix("scoring");
+    private static final String GAMEID_KEY = OutboundJson.key("gameid");
+    private static final String WINNING_TEAM_NUMBER_KEY = OutboundJson.key("winningTeamNumber");
+    private static final String PLAYERS_KEY = OutboundJson.key("players");
+    private static final String KILLS_KEY = OutboundJson.key("kills");
+    private static final String DEATHS_KEY = OutboundJson.key("deaths");
+    private static final String BEDBROKEN_KEY = OutboundJson.key("bedbroken");
+    private static final String FINALKILLS_KEY = OutboundJson.key("finalkills");
+    private static final String DIAMONDS_KEY = OutboundJson.key("diamonds");
+    private static final String IRONS_KEY = OutboundJson.key("irons");
+    private static final String GOLD_KEY = OutboundJson.key("gold");
+    private static final String EMERALDS_KEY = OutboundJson.key("emeralds");
+    private static final String BLOCKSPLACED_KEY = OutboundJson.key("blocksplaced");
+    private static final String MVPS_KEY = OutboundJson.key("mvps");
+    private static final String BEDSBROKEN_KEY = OutboundJson.key("bedsbroken");
+    private static final String TIMELINE_KEY = OutboundJson.key("timeline");
+    private static final String FORMAT_KEY = OutboundJson.key("format");
+    private static final String LAYOUT_KEY = OutboundJson.key("layout");
+    private static final String START_KEY = OutboundJson.key("start");
+    private static final String DROPPED_KEY = OutboundJson.key("dropped");
+    private static final String EVENTS_KEY = OutboundJson.key("events");
+    
     private final RBWPlugin plugin;
     private final ArenaService arenaService;
     
@@ -59,14 +84,23 @@ public class GameListener implements Listener {
             return;
         }
         
+        plugin.getStatsAggregator().flush();
         game.endGame();
         game.recalculateAwards();
         
         int winningTeamNumber = determineWinningTeamNumber(event, game);
         sendScoringData(game, winningTeamNumber);
         
+        PlayerStatsTable statsTable = game.getStatsTable();
+        if (statsTable.getDroppedUpdates() > 0) {
+            plugin.getLogger().warning("Dropped " + statsTable.getDroppedUpdates() + " stat updates for " +
+                statsTable.getRejectedPlayers() + " unrostered players in game " + game.getGameId() +
+                " (stats table capacity " + statsTable.getCapacity() + ")");
+        }
+        
         game.cleanup();
         plugin.getGameManager().unregisterGameByArena(arenaName);
+        plugin.getArenaLeaseManager().release(arenaName, game.getGameId());
     }
     
     @EventHandler(priority = EventPriority.MONITOR)
@@ -79,41 +113,21 @@ public class GameListener implements Listener {
         String killer = event.getKiller() != null ? event.getKiller().getName() : null;
         String victim = event.getVictim() != null ? event.getVictim().getName() : null;
         
-        if (killer != null) game.getOrCreatePlayerStats(killer).addKills(1);
-        if (victim != null) game.getOrCreatePlayerStats(victim).addDeaths(1);
-    }
-    
-    @EventHandler(priority = EventPriority.MONITOR)
-    public void onPlayerPickupItem(PlayerPickupItemEvent event) {
-        Player player = event.getPlayer();
-        Game game = plugin.getGameManager().getGameByPlayer(player.getName());
-        
-        if (game == null) return;
-        
-        Material type = event.getItem().getItemStack().getType();
-        int amount = event.getItem().getItemStack().getAmount();
-        Game.PlayerStats stats = game.getOrCreatePlayerStats(player.getName());
+        boolean finalKill = event.getCause() != null && event.getCause().isFinalKill();
         
-        if (type == Material.DIAMOND) {
-            stats.addDiamonds(amount);
-        } else if (type == Material.IRON_INGOT) {
-            stats.addIrons(amount);
-        } else if (type == Material.GOLD_INGOT) {
-            stats.addGold(amount);
-        } else if (type == Material.EMERALD) {
-            stats.addEmeralds(amount);
+        if (killer != null) {
+            Game.PlayerStats stats = game.getOrCreatePlayerStats(killer);
+            stats.addKills(1);
+            if (finalKill) stats.addFinalKills(1);
+        }
+        if (victim != null) {
+            Game.PlayerStats stats = game.getOrCreatePlayerStats(victim);
+            stats.addDeaths(1);
+            if (finalKill) stats.addFinalDeaths(1);
         }
-    }
-    
-    @EventHandler(priority = EventPriority.MONITOR)
-    public void onBlockPlace(BlockPlaceEvent event) {
-        Player player = event.getPlayer();
-        if (player == null) return;
-        
-        Game game = plugin.getGameManager().getGameByPlayer(player.getName());
-        if (game == null) return;
         
-        game.getOrCreatePlayerStats(player.getName()).addBlocksPlaced(1);
+        int type = killer == null ? GameTimeline.DEATH : finalKill ? GameTimeline.FINAL_KILL : GameTimeline.KILL;
+        game.recordTimelineEvent(type, killer, victim);
     }
     
     @EventHandler(priority = EventPriority.MONITOR)
@@ -126,6 +140,7 @@ public class GameListener implements Listener {
         String player = event.getPlayer() != null ? event.getPlayer().getName() : null;
         if (player != null) {
             game.getOrCreatePlayerStats(player).addBedsBroken(1);
+            game.recordTimelineEvent(GameTimeline.BED_BREAK, player, null);
         }
     }
 
@@ -158,6 +173,8 @@ public class GameListener implements Listener {
             }
         }
         
+        plugin.getStatsAggregator().forget(playerName);
+        
         if (plugin.getWebSocketManager() != null) {
             plugin.getWebSocketManager().sendPlayerStatus(playerName, false);
         }
@@ -181,60 +198,110 @@ public class GameListener implements Listener {
     }
     
     private void sendScoringData(Game game, int winningTeamNumber) {
-        if (plugin.getWebSocketManager() == null || !plugin.getWebSocketManager().isConnected()) {
+        if (plugin.getWebSocketManager() == null) {
             return;
         }
         
-        JsonObject scoring = new JsonObject();
-        scoring.addProperty("type", "scoring");
-        scoring.addProperty("gameid", game.getGameId());
-        scoring.addProperty("winningTeamNumber", winningTeamNumber);
+        boolean attachTimeline = plugin.getConfigManager().isTimelineAttachToScoring();
+        String payload = buildScoringPayload(game, winningTeamNumber, attachTimeline);
+        plugin.getWebSocketManager().sendSerialized("scoring", payload);
+        
+        if (game.getTimeline() != null && plugin.getConfigManager().isTimelineWriteToDisk()) {
+            writeTimeline(game.getGameId(), attachTimeline ? payload : buildScoringPayload(game, winningTeamNumber, true));
+        }
+    }
+    
+    private void writeTimeline(String gameId, String payload) {
+        File directory = new File(plugin.getDataFolder(), "timelines");
+        File file = new File(directory, gameId.replaceAll("[^A-Za-z0-9_.-]", "_") + ".json");
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                Files.createDirectories(directory.toPath());
+                Files.write(file.toPath(), payload.getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                plugin.getLogger().warning("Failed to write timeline for game " + gameId + ": " + e.getMessage());
+            }
+        });
+    }
+    
+    String buildScoringPayload(Game game, int winningTeamNumber) {
+        return buildScoringPayload(game, winningTeamNumber, plugin.getConfigManager().isTimelineAttachToScoring());
+    }
+    
+    private String buildScoringPayload(Game game, int winningTeamNumber, boolean includeTimeline) {
+        OutboundJson scoring = OutboundJson.start(SCORING_PREFIX)
+            .field(GAMEID_KEY, game.getGameId())
+            .field(WINNING_TEAM_NUMBER_KEY, winningTeamNumber)
+            .beginObject(PLAYERS_KEY);
         
-        JsonObject players = new JsonObject();
         Set<String> allPlayers = new HashSet<>();
         allPlayers.addAll(game.getTeam1Players());
         allPlayers.addAll(game.getTeam2Players());
         
         for (String playerName : allPlayers) {
             Game.PlayerStats stats = game.getOrCreatePlayerStats(playerName);
-            JsonObject playerStats = new JsonObject();
-            playerStats.addProperty("kills", stats.getKills());
-            playerStats.addProperty("deaths", stats.getDeaths());
-            playerStats.addProperty("bedbroken", stats.getBedsBroken() > 0);
-            playerStats.addProperty("finalkills", stats.getFinalKills());
-            playerStats.addProperty("diamonds", stats.getDiamonds());
-            playerStats.addProperty("irons", stats.getIrons());
-            playerStats.addProperty("gold", stats.getGold());
-            playerStats.addProperty("emeralds", stats.getEmeralds());
-            playerStats.addProperty("blocksplaced", stats.getBlocksPlaced());
-            players.add(playerName, playerStats);
+            scoring.beginObjectNamed(playerName)
+                .field(KILLS_KEY, stats.getKills())
+                .field(DEATHS_KEY, stats.getDeaths())
+                .field(BEDBROKEN_KEY, stats.getBedsBroken() > 0)
+                .field(FINALKILLS_KEY, stats.getFinalKills())
+                .field(DIAMONDS_KEY, stats.getDiamonds())
+                .field(IRONS_KEY, stats.getIrons())
+                .field(GOLD_KEY, stats.getGold())
+                .field(EMERALDS_KEY, stats.getEmeralds())
+                .field(BLOCKSPLACED_KEY, stats.getBlocksPlaced())
+                .endObject();
         }
-        scoring.add("players", players);
+        scoring.endObject();
         
-        JsonArray mvps = new JsonArray();
-        for (String mvp : game.getMvps()) {
-            mvps.add(new com.google.gson.JsonPrimitive(mvp));
+        appendNames(scoring, MVPS_KEY, game.getMvps());
+        appendNames(scoring, BEDSBROKEN_KEY, game.getBedBreakers());
+        
+        if (includeTimeline && game.getTimeline() != null) {
+            appendTimeline(scoring, game);
         }
-        if (mvps.size() > 0) scoring.add("mvps", mvps);
         
-        JsonArray bedBreakers = new JsonArray();
-        for (String bedBreaker : game.getBedBreakers()) {
-            bedBreakers.add(new com.google.gson.JsonPrimitive(bedBreaker));
+        return scoring.finish();
+    }
+    
+    private void appendTimeline(OutboundJson json, Game game) {
+        GameTimeline timeline = game.getTimeline();
+        String events;
+        try {
+            events = timeline.toBase64();
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to encode timeline for game " + game.getGameId() + ": " + e.getMessage());
+            return;
         }
-        if (bedBreakers.size() > 0) scoring.add("bedsbroken", bedBreakers);
         
-        plugin.getWebSocketManager().sendMessage(scoring);
+        json.beginObject(TIMELINE_KEY)
+            .field(FORMAT_KEY, GameTimeline.FORMAT_VERSION)
+            .field(LAYOUT_KEY, GameTimeline.LAYOUT)
+            .field(START_KEY, timeline.getStartMillis())
+            .field(DROPPED_KEY, timeline.getDroppedCount())
+            .beginArray(PLAYERS_KEY);
+        PlayerStatsTable table = game.getStatsTable();
+        for (int slot = 0; slot < table.size(); slot++) {
+            json.element(table.getName(slot));
+        }
+        json.endArray()
+            .field(EVENTS_KEY, events)
+            .endObject();
     }
     
-    @EventHandler(priority = EventPriority.MONITOR)
-    public void onGameStateChange(GameStateChangeEvent event) {
-        if (event.getNewState() != GameState.playing) return;
+    private void appendNames(OutboundJson json, String key, Iterable<String> names) {
+        Iterator<String> iterator = names.iterator();
+        if (!iterator.hasNext()) return;
         
-        String arenaName = event.getArena().getArenaName();
-        var future = GameSetupService.getArenaStartFutures().remove(arenaName);
-        if (future != null) {
-            future.complete(null);
-            plugin.getLogger().info("Game started successfully in arena: " + arenaName);
+        json.beginArray(key);
+        while (iterator.hasNext()) {
+            json.element(iterator.next());
         }
+        json.endArray();
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onGameStateChange(GameStateChangeEvent event) {
+        GameSetupService.handleStateChange(plugin, event.getArena(), event.getNewState());
     }
 }
@@ -0,0 +1,95 @@
+package me.deyo.rbw.listeners;
+
+import com.andrei1058.bedwars.api.arena.IArena;
+import me.deyo.rbw.RBWPlugin;
+import me.deyo.rbw.model.Game;
+import me.deyo.rbw.service.arena.ArenaService;
+import me.deyo.rbw.tasks.StatsAggregator;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.player.PlayerPickupItemEvent;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class GameplayStatsListener implements Listener {
+    
+    private final RBWPlugin plugin;
+    private final ArenaService arenaService;
+    private final Set<String> activeWorlds = new HashSet<>();
+    private boolean registered = false;
+    
+    public GameplayStatsListener(RBWPlugin plugin) {
+        this.plugin = plugin;
+        this.arenaService = new ArenaService(plugin);
+    }
+    
+    public void refresh() {
+        if (!Bukkit.isPrimaryThread()) {
+            plugin.getServer().getScheduler().runTask(plugin, this::refresh);
+            return;
+        }
+        
+        activeWorlds.clear();
+        for (Game game : plugin.getGameManager().getAllGames()) {
+            IArena arena = arenaService.getArenaByName(game.getArenaName());
+            activeWorlds.add(arena != null && arena.getWorldName() != null ? arena.getWorldName() : game.getArenaName());
+        }
+        
+        if (activeWorlds.isEmpty()) {
+            unregister();
+        } else if (!registered && plugin.isEnabled()) {
+            Bukkit.getPluginManager().registerEvents(this, plugin);
+            registered = true;
+            if (plugin.getConfigManager().isDebugEnabled()) {
+                plugin.getLogger().info("Gameplay stats listener registered");
+            }
+        }
+    }
+    
+    public void unregister() {
+        activeWorlds.clear();
+        if (registered) {
+            HandlerList.unregisterAll(this);
+            registered = false;
+            if (plugin.getConfigManager().isDebugEnabled()) {
+                plugin.getLogger().info("Gameplay stats listener unregistered");
+            }
+        }
+    }
+    
+    public boolean isRegistered() {
+        return registered;
+    }
+    
+    private boolean isInActiveWorld(Player player) {
+        return activeWorlds.contains(player.getWorld().getName());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerPickupItem(PlayerPickupItemEvent event) {
+        Player player = event.getPlayer();
+        if (!isInActiveWorld(player)) return;
+        
+        ItemStack item = event.getItem().getItemStack();
+        int column = StatsAggregator.columnFor(item.getType());
+        
+        if (column < 0) return;
+        
+        plugin.getStatsAggregator().record(player.getName(), column, item.getAmount());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        Player player = event.getPlayer();
+        if (player == null || !isInActiveWorld(player)) return;
+        
+        plugin.getStatsAggregator().record(player.getName(), StatsAggregator.BLOCKS_PLACED, 1);
+    }
+}
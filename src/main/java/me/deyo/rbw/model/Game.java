@@ -19,13 +19,23 @@ public class Game {
     private final Set<String> mvps = ConcurrentHashMap.newKeySet();
     private final Set<String> bedBreakers = ConcurrentHashMap.newKeySet();
     
-    private final Map<String, PlayerStats> playerStats = new ConcurrentHashMap<>();
+    private final PlayerStatsTable statsTable;
+    private final GameTimeline timeline;
     
     public Game(String gameId, String arenaName, List<String> team1Players, List<String> team2Players) {
+        this(gameId, arenaName, team1Players, team2Players, 0);
+    }
+    
+    public Game(String gameId, String arenaName, List<String> team1Players, List<String> team2Players, int timelineCapacity) {
         this.gameId = gameId;
         this.arenaName = arenaName;
         this.team1Players = new ArrayList<>(team1Players);
         this.team2Players = new ArrayList<>(team2Players);
+        
+        List<String> roster = new ArrayList<>(this.team1Players);
+        roster.addAll(this.team2Players);
+        this.statsTable = new PlayerStatsTable(roster);
+        this.timeline = timelineCapacity > 0 ? new GameTimeline(timelineCapacity) : null;
     }
     
     public String getGameId() {
@@ -50,6 +60,9 @@ public class Game {
     
     public void startGame() {
         this.startTime = Instant.now();
+        if (timeline != null) {
+            timeline.start();
+        }
     }
     
     public Instant getEndTime() {
@@ -77,28 +90,49 @@ public class Game {
     }
     
     public Map<String, PlayerStats> getPlayerStats() {
-        return Collections.unmodifiableMap(playerStats);
+        Map<String, PlayerStats> views = new LinkedHashMap<>();
+        for (int slot = 0; slot < statsTable.size(); slot++) {
+            views.put(statsTable.getName(slot), new PlayerStats(statsTable, slot));
+        }
+        return Collections.unmodifiableMap(views);
     }
     
     public PlayerStats getOrCreatePlayerStats(String playerName) {
-        return playerStats.computeIfAbsent(playerName, k -> new PlayerStats());
+        return new PlayerStats(statsTable, statsTable.getOrAssignSlot(playerName));
+    }
+    
+    public PlayerStatsTable getStatsTable() {
+        return statsTable;
+    }
+    
+    public GameTimeline getTimeline() {
+        return timeline;
+    }
+    
+    public void recordTimelineEvent(int type, String actor, String victim) {
+        if (timeline != null) {
+            timeline.record(type, statsTable.getOrAssignSlot(actor), statsTable.getOrAssignSlot(victim));
+        }
     }
     
     public void recalculateAwards() {
         mvps.clear();
         bedBreakers.clear();
         
-        int maxKills = playerStats.values().stream()
-                .mapToInt(PlayerStats::getKills)
-                .max().orElse(0);
+        PlayerStatsTable.Snapshot snapshot = statsTable.snapshot();
+        int maxKills = 0;
+        for (int slot = 0; slot < snapshot.size(); slot++) {
+            maxKills = Math.max(maxKills, snapshot.get(slot, PlayerStatsTable.Stat.KILLS));
+        }
         
-        playerStats.entrySet().stream()
-                .filter(entry -> maxKills > 0 && entry.getValue().getKills() == maxKills)
-                .forEach(entry -> mvps.add(entry.getKey()));
-        
-        playerStats.entrySet().stream()
-                .filter(entry -> entry.getValue().getBedsBroken() > 0)
-                .forEach(entry -> bedBreakers.add(entry.getKey()));
+        for (int slot = 0; slot < snapshot.size(); slot++) {
+            if (maxKills > 0 && snapshot.get(slot, PlayerStatsTable.Stat.KILLS) == maxKills) {
+                mvps.add(snapshot.getName(slot));
+            }
+            if (snapshot.get(slot, PlayerStatsTable.Stat.BEDS_BROKEN) > 0) {
+                bedBreakers.add(snapshot.getName(slot));
+            }
+        }
     }
     
     public void cleanup() {
@@ -106,7 +140,7 @@ public class Game {
         losers.clear();
         mvps.clear();
         bedBreakers.clear();
-        playerStats.clear();
+        statsTable.reset();
     }
     
     public boolean containsPlayer(String playerName) {
@@ -114,49 +148,45 @@ public class Game {
     }
     
     public static class PlayerStats {
-        private volatile int kills;
-        private volatile int deaths;
-        private volatile int finalKills;
-        private volatile int finalDeaths;
-        private volatile int bedsBroken;
-        private volatile boolean won;
-        private volatile int diamonds;
-        private volatile int irons;
-        private volatile int gold;
-        private volatile int emeralds;
-        private volatile int blocksPlaced;
+        private final PlayerStatsTable table;
+        private final int slot;
+        
+        PlayerStats(PlayerStatsTable table, int slot) {
+            this.table = table;
+            this.slot = slot;
+        }
         
-        public int getKills() { return kills; }
-        public void addKills(int amount) { this.kills += amount; }
+        public int getKills() { return table.get(slot, PlayerStatsTable.Stat.KILLS); }
+        public void addKills(int amount) { table.add(slot, PlayerStatsTable.Stat.KILLS, amount); }
         
-        public int getDeaths() { return deaths; }
-        public void addDeaths(int amount) { this.deaths += amount; }
+        public int getDeaths() { return table.get(slot, PlayerStatsTable.Stat.DEATHS); }
+        public void addDeaths(int amount) { table.add(slot, PlayerStatsTable.Stat.DEATHS, amount); }
         
-        public int getFinalKills() { return finalKills; }
-        public void addFinalKills(int amount) { this.finalKills += amount; }
+        public int getFinalKills() { return table.get(slot, PlayerStatsTable.Stat.FINAL_KILLS); }
+        public void addFinalKills(int amount) { table.add(slot, PlayerStatsTable.Stat.FINAL_KILLS, amount); }
         
-        public int getFinalDeaths() { return finalDeaths; }
-        public void addFinalDeaths(int amount) { this.finalDeaths += amount; }
+        public int getFinalDeaths() { return table.get(slot, PlayerStatsTable.Stat.FINAL_DEATHS); }
+        public void addFinalDeaths(int amount) { table.add(slot, PlayerStatsTable.Stat.FINAL_DEATHS, amount); }
         
-        public int getBedsBroken() { return bedsBroken; }
-        public void addBedsBroken(int amount) { this.bedsBroken += amount; }
+        public int getBedsBroken() { return table.get(slot, PlayerStatsTable.Stat.BEDS_BROKEN); }
+        public void addBedsBroken(int amount) { table.add(slot, PlayerStatsTable.Stat.BEDS_BROKEN, amount); }
         
-        public boolean hasWon() { return won; }
-        public void setWon(boolean won) { this.won = won; }
+        public boolean hasWon() { return table.get(slot, PlayerStatsTable.Stat.WON) != 0; }
+        public void setWon(boolean won) { table.set(slot, PlayerStatsTable.Stat.WON, won ? 1 : 0); }
         
-        public int getDiamonds() { return diamonds; }
-        public void addDiamonds(int amount) { this.diamonds += amount; }
+        public int getDiamonds() { return table.get(slot, PlayerStatsTable.Stat.DIAMONDS); }
+        public void addDiamonds(int amount) { table.add(slot, PlayerStatsTable.Stat.DIAMONDS, amount); }
         
-        public int getIrons() { return irons; }
-        public void addIrons(int amount) { this.irons += amount; }
+        public int getIrons() { return table.get(slot, PlayerStatsTable.Stat.IRONS); }
+        public void addIrons(int amount) { table.add(slot, PlayerStatsTable.Stat.IRONS, amount); }
         
-        public int getGold() { return gold; }
-        public void addGold(int amount) { this.gold += amount; }
+        public int getGold() { return table.get(slot, PlayerStatsTable.Stat.GOLD); }
+        public void addGold(int amount) { table.add(slot, PlayerStatsTable.Stat.GOLD, amount); }
         
-        public int getEmeralds() { return emeralds; }
-        public void addEmeralds(int amount) { this.emeralds += amount; }
+        public int getEmeralds() { return table.get(slot, PlayerStatsTable.Stat.EMERALDS); }
+        public void addEmeralds(int amount) { table.add(slot, PlayerStatsTable.Stat.EMERALDS, amount); }
         
-        public int getBlocksPlaced() { return blocksPlaced; }
-        public void addBlocksPlaced(int amount) { this.blocksPlaced += amount; }
+        public int getBlocksPlaced() { return table.get(slot, PlayerStatsTable.Stat.BLOCKS_PLACED); }
+        public void addBlocksPlaced(int amount) { table.add(slot, PlayerStatsTable.Stat.BLOCKS_PLACED, amount); }
     }
 }
@@ -0,0 +1,105 @@
+package me.deyo.rbw.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+public final class GameTimeline {
+    
+    public static final int FORMAT_VERSION = 1;
+    public static final String LAYOUT = "offset_ms:32,type:8,actor:12,victim:12";
+    
+    public static final int KILL = 1;
+    public static final int FINAL_KILL = 2;
+    public static final int DEATH = 3;
+    public static final int BED_BREAK = 4;
+    
+    private static final int SLOT_MASK = 0xFFF;
+    
+    private final long[] records;
+    private final int mask;
+    private long startNanos;
+    private long startMillis;
+    private long written;
+    
+    public GameTimeline(int capacity) {
+        int size = Integer.highestOneBit(Math.max(16, capacity - 1) << 1);
+        this.records = new long[size];
+        this.mask = size - 1;
+        start();
+    }
+    
+    public void start() {
+        this.startNanos = System.nanoTime();
+        this.startMillis = System.currentTimeMillis();
+        this.written = 0L;
+    }
+    
+    public void record(int type, int actorSlot, int victimSlot) {
+        long offset = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) & 0xFFFFFFFFL;
+        records[(int) (written & mask)] = offset << 32
+            | (long) (type & 0xFF) << 24
+            | (long) ((actorSlot + 1) & SLOT_MASK) << 12
+            | (victimSlot + 1) & SLOT_MASK;
+        written++;
+    }
+    
+    public static long offsetMillis(long record) {
+        return record >>> 32;
+    }
+    
+    public static int type(long record) {
+        return (int) (record >>> 24) & 0xFF;
+    }
+    
+    public static int actorSlot(long record) {
+        return ((int) (record >>> 12) & SLOT_MASK) - 1;
+    }
+    
+    public static int victimSlot(long record) {
+        return ((int) record & SLOT_MASK) - 1;
+    }
+    
+    public int size() {
+        return (int) Math.min(written, records.length);
+    }
+    
+    public long getDroppedCount() {
+        return Math.max(0L, written - records.length);
+    }
+    
+    public long getStartMillis() {
+        return startMillis;
+    }
+    
+    public long[] toArray() {
+        int size = size();
+        long[] ordered = new long[size];
+        long first = written - size;
+        for (int i = 0; i < size; i++) {
+            ordered[i] = records[(int) ((first + i) & mask)];
+        }
+        return ordered;
+    }
+    
+    public byte[] toCompressedBytes() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(size() * 4 + 16);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+            for (long record : toArray()) {
+                out.writeLong(record);
+            }
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+    
+    public String toBase64() throws IOException {
+        return Base64.getEncoder().encodeToString(toCompressedBytes());
+    }
+}
@@ -0,0 +1,204 @@
+package me.deyo.rbw.model;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public final class PlayerStatsTable {
+    
+    public enum Stat {
+        KILLS,
+        DEATHS,
+        FINAL_KILLS,
+        FINAL_DEATHS,
+        BEDS_BROKEN,
+        WON,
+        DIAMONDS,
+        IRONS,
+        GOLD,
+        EMERALDS,
+        BLOCKS_PLACED
+    }
+    
+    private static final Stat[] STATS = Stat.values();
+    private static final int SPARE_SLOTS = 4;
+    
+    private final int capacity;
+    private final int rosterSize;
+    private final int[] hashes;
+    private final AtomicReferenceArray<String> names;
+    private final AtomicIntegerArray counters;
+    private final AtomicInteger version = new AtomicInteger();
+    private final AtomicInteger rejectedPlayers = new AtomicInteger();
+    private final AtomicInteger droppedUpdates = new AtomicInteger();
+    private volatile int assigned;
+    
+    public PlayerStatsTable(List<String> roster) {
+        this.capacity = roster.size() + SPARE_SLOTS;
+        this.hashes = new int[capacity];
+        this.names = new AtomicReferenceArray<>(capacity);
+        this.counters = new AtomicIntegerArray(STATS.length * capacity);
+        
+        int slot = 0;
+        for (String name : roster) {
+            if (indexOf(name, slot) == -1) {
+                hashes[slot] = name.hashCode();
+                names.set(slot, name);
+                slot++;
+            }
+        }
+        this.rosterSize = slot;
+        this.assigned = slot;
+    }
+    
+    public int slotOf(String name) {
+        return name != null ? indexOf(name, assigned) : -1;
+    }
+    
+    public int getOrAssignSlot(String name) {
+        if (name == null) {
+            return -1;
+        }
+        
+        int slot = indexOf(name, assigned);
+        return slot != -1 ? slot : assignSlot(name);
+    }
+    
+    private synchronized int assignSlot(String name) {
+        int count = assigned;
+        int slot = indexOf(name, count);
+        if (slot != -1) {
+            return slot;
+        }
+        if (count == capacity) {
+            rejectedPlayers.incrementAndGet();
+            return -1;
+        }
+        
+        hashes[count] = name.hashCode();
+        names.set(count, name);
+        assigned = count + 1;
+        return count;
+    }
+    
+    private int indexOf(String name, int count) {
+        int hash = name.hashCode();
+        for (int i = 0; i < count; i++) {
+            if (hashes[i] == hash && name.equals(names.get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    public void add(int slot, Stat stat, int amount) {
+        if (amount == 0) {
+            return;
+        }
+        if (slot < 0) {
+            droppedUpdates.incrementAndGet();
+            return;
+        }
+        
+        counters.getAndAdd(index(slot, stat), amount);
+        version.incrementAndGet();
+    }
+    
+    public void set(int slot, Stat stat, int value) {
+        if (slot < 0) {
+            droppedUpdates.incrementAndGet();
+            return;
+        }
+        
+        counters.set(index(slot, stat), value);
+        version.incrementAndGet();
+    }
+    
+    public int get(int slot, Stat stat) {
+        return slot >= 0 ? counters.get(index(slot, stat)) : 0;
+    }
+    
+    private int index(int slot, Stat stat) {
+        return stat.ordinal() * capacity + slot;
+    }
+    
+    public String getName(int slot) {
+        return names.get(slot);
+    }
+    
+    public int size() {
+        return assigned;
+    }
+    
+    public int getRosterSize() {
+        return rosterSize;
+    }
+    
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    public int getVersion() {
+        return version.get();
+    }
+    
+    public int getRejectedPlayers() {
+        return rejectedPlayers.get();
+    }
+    
+    public int getDroppedUpdates() {
+        return droppedUpdates.get();
+    }
+    
+    public Snapshot snapshot() {
+        int count = assigned;
+        String[] snapshotNames = new String[count];
+        int[] values = new int[STATS.length * count];
+        for (int slot = 0; slot < count; slot++) {
+            snapshotNames[slot] = names.get(slot);
+        }
+        for (Stat stat : STATS) {
+            for (int slot = 0; slot < count; slot++) {
+                values[stat.ordinal() * count + slot] = counters.get(index(slot, stat));
+            }
+        }
+        return new Snapshot(snapshotNames, values);
+    }
+    
+    public synchronized void reset() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+        for (int slot = rosterSize; slot < assigned; slot++) {
+            names.set(slot, null);
+            hashes[slot] = 0;
+        }
+        assigned = Math.min(assigned, rosterSize);
+        rejectedPlayers.set(0);
+        droppedUpdates.set(0);
+        version.incrementAndGet();
+    }
+    
+    public static final class Snapshot {
+        private final String[] names;
+        private final int[] values;
+        
+        private Snapshot(String[] names, int[] values) {
+            this.names = names;
+            this.values = values;
+        }
+        
+        public int size() {
+            return names.length;
+        }
+        
+        public String getName(int slot) {
+            return names[slot];
+        }
+        
+        public int get(int slot, Stat stat) {
+            return values[stat.ordinal() * names.length + slot];
+        }
+    }
+}
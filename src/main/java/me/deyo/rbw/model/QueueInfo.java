@@ -1,6 +1,7 @@
 package me.deyo.rbw.model;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class QueueInfo {
@@ -10,11 +11,42 @@ public class QueueInfo {
     private final int capacity;
     
     public QueueInfo(List<String> players, EloRange eloRange, int capacity) {
-        this.players = new ArrayList<>(players);
+        this(eloRange, capacity, new ArrayList<>(players));
+    }
+    
+    private QueueInfo(EloRange eloRange, int capacity, List<String> players) {
+        this.players = Collections.unmodifiableList(players);
         this.eloRange = eloRange;
         this.capacity = capacity;
     }
     
+    public QueueInfo withPlayer(String playerName) {
+        if (players.contains(playerName)) {
+            return this;
+        }
+        ArrayList<String> updated = new ArrayList<>(players.size() + 1);
+        updated.addAll(players);
+        updated.add(playerName);
+        return new QueueInfo(eloRange, capacity, updated);
+    }
+    
+    public QueueInfo withoutPlayer(String playerName) {
+        if (!players.contains(playerName)) {
+            return this;
+        }
+        ArrayList<String> updated = new ArrayList<>(players);
+        updated.remove(playerName);
+        return new QueueInfo(eloRange, capacity, updated);
+    }
+    
+    public QueueInfo withCapacity(int capacity) {
+        return capacity == this.capacity ? this : new QueueInfo(eloRange, capacity, players);
+    }
+    
+    public QueueInfo withEloRange(EloRange eloRange) {
+        return new QueueInfo(eloRange, capacity, players);
+    }
+    
     public List<String> getPlayers() {
         return players;
     }
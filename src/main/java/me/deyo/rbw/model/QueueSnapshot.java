@@ -0,0 +1,245 @@
+package me.deyo.rbw.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class QueueSnapshot {
+    
+    public static final QueueSnapshot EMPTY = new QueueSnapshot(Collections.emptyMap(), 0L, 0L);
+    
+    private static final Entry REMOVED = new Entry(null, null);
+    
+    private final Map<String, QueueInfo> queues = new ConcurrentHashMap<>();
+    private final Map<String, QueueInfo> queuesView = Collections.unmodifiableMap(queues);
+    private volatile long version;
+    private volatile long sourceVersion;
+    private volatile String defaultQueueName;
+    private volatile Entry[] index;
+    private int indexUsed;
+    
+    public QueueSnapshot(Map<String, QueueInfo> queues, long version, long sourceVersion) {
+        this.version = version;
+        this.sourceVersion = sourceVersion;
+        
+        int playerCount = 0;
+        for (Map.Entry<String, QueueInfo> entry : queues.entrySet()) {
+            if (entry.getValue() == null) continue;
+            if (defaultQueueName == null) {
+                defaultQueueName = entry.getKey();
+            }
+            this.queues.put(entry.getKey(), entry.getValue());
+            playerCount += entry.getValue().getPlayerCount();
+        }
+        
+        this.index = new Entry[tableSize(playerCount)];
+        for (Map.Entry<String, QueueInfo> entry : queues.entrySet()) {
+            if (entry.getValue() == null) continue;
+            for (String playerName : entry.getValue().getPlayers()) {
+                if (playerName != null && getQueueNameFor(playerName) == null) {
+                    index(playerName, entry.getKey());
+                }
+            }
+        }
+    }
+    
+    public QueueSnapshot next(Map<String, QueueInfo> queues, long sourceVersion) {
+        return new QueueSnapshot(queues, version + 1, sourceVersion);
+    }
+    
+    public void join(String queueName, String playerName) {
+        QueueInfo queueInfo = queues.get(queueName);
+        if (queueInfo == null || playerName == null) {
+            return;
+        }
+        
+        queues.put(queueName, queueInfo.withPlayer(playerName));
+        index(playerName, queueName);
+    }
+    
+    public void leave(String queueName, String playerName) {
+        QueueInfo queueInfo = queues.get(queueName);
+        if (queueInfo == null || playerName == null) {
+            return;
+        }
+        
+        queues.put(queueName, queueInfo.withoutPlayer(playerName));
+        unindex(playerName, queueName);
+    }
+    
+    public void update(String queueName, Integer capacity, QueueInfo.EloRange eloRange) {
+        QueueInfo queueInfo = queues.get(queueName);
+        if (queueInfo == null) {
+            queueInfo = new QueueInfo(new ArrayList<>(), new QueueInfo.EloRange(0, 0), 0);
+        }
+        if (capacity != null) {
+            queueInfo = queueInfo.withCapacity(capacity);
+        }
+        if (eloRange != null) {
+            queueInfo = queueInfo.withEloRange(eloRange);
+        }
+        
+        queues.put(queueName, queueInfo);
+        if (defaultQueueName == null) {
+            defaultQueueName = queueName;
+        }
+    }
+    
+    public void remove(String queueName) {
+        QueueInfo removed = queues.remove(queueName);
+        if (removed == null) {
+            return;
+        }
+        
+        for (String playerName : removed.getPlayers()) {
+            unindex(playerName, queueName);
+        }
+        if (queueName.equals(defaultQueueName)) {
+            defaultQueueName = queues.isEmpty() ? null : queues.keySet().iterator().next();
+        }
+    }
+    
+    public void commit(long sourceVersion) {
+        this.sourceVersion = sourceVersion;
+        this.version = version + 1;
+    }
+    
+    private void index(String playerName, String queueName) {
+        Entry[] table = index;
+        int mask = table.length - 1;
+        int slot = hashIgnoreCase(playerName) & mask;
+        int free = -1;
+        Entry entry;
+        while ((entry = table[slot]) != null) {
+            if (entry == REMOVED) {
+                if (free == -1) {
+                    free = slot;
+                }
+            } else if (entry.playerName.equalsIgnoreCase(playerName)) {
+                if (!entry.queueName.equals(queueName)) {
+                    table[slot] = new Entry(playerName, queueName);
+                }
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        
+        if (free != -1) {
+            table[free] = new Entry(playerName, queueName);
+            return;
+        }
+        if ((indexUsed + 1) * 2 > table.length) {
+            rehash();
+            index(playerName, queueName);
+            return;
+        }
+        table[slot] = new Entry(playerName, queueName);
+        indexUsed++;
+    }
+    
+    private void unindex(String playerName, String queueName) {
+        Entry[] table = index;
+        int mask = table.length - 1;
+        int slot = hashIgnoreCase(playerName) & mask;
+        Entry entry;
+        while ((entry = table[slot]) != null) {
+            if (entry != REMOVED && entry.playerName.equalsIgnoreCase(playerName)) {
+                if (entry.queueName.equals(queueName)) {
+                    table[slot] = REMOVED;
+                }
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+    
+    private void rehash() {
+        Entry[] old = index;
+        int live = 0;
+        for (Entry entry : old) {
+            if (entry != null && entry != REMOVED) {
+                live++;
+            }
+        }
+        
+        Entry[] table = new Entry[tableSize(live + 1)];
+        int mask = table.length - 1;
+        for (Entry entry : old) {
+            if (entry == null || entry == REMOVED) continue;
+            int slot = hashIgnoreCase(entry.playerName) & mask;
+            while (table[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = entry;
+        }
+        indexUsed = live;
+        index = table;
+    }
+    
+    public String getQueueNameFor(String playerName) {
+        if (playerName == null) return null;
+        
+        Entry[] table = index;
+        int mask = table.length - 1;
+        int slot = hashIgnoreCase(playerName) & mask;
+        Entry entry;
+        while ((entry = table[slot]) != null) {
+            if (entry != REMOVED && entry.playerName.equalsIgnoreCase(playerName)) {
+                return entry.queueName;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+    
+    private static int tableSize(int playerCount) {
+        return Integer.highestOneBit(Math.max(4, playerCount * 2) - 1) << 1;
+    }
+    
+    private static int hashIgnoreCase(String value) {
+        int hash = 0;
+        for (int i = 0; i < value.length(); i++) {
+            hash = 31 * hash + Character.toLowerCase(value.charAt(i));
+        }
+        return hash ^ (hash >>> 16);
+    }
+    
+    public long getVersion() {
+        return version;
+    }
+    
+    public long getSourceVersion() {
+        return sourceVersion;
+    }
+    
+    public boolean hasChangedSince(long version) {
+        return this.version != version;
+    }
+    
+    public Map<String, QueueInfo> getQueues() {
+        return queuesView;
+    }
+    
+    public QueueInfo getQueue(String queueName) {
+        return queueName != null ? queues.get(queueName) : null;
+    }
+    
+    public String getDefaultQueueName() {
+        return defaultQueueName;
+    }
+    
+    public boolean isEmpty() {
+        return queues.isEmpty();
+    }
+    
+    private static final class Entry {
+        private final String playerName;
+        private final String queueName;
+        
+        private Entry(String playerName, String queueName) {
+            this.playerName = playerName;
+            this.queueName = queueName;
+        }
+    }
+}
@@ -1,158 +1,147 @@
 package me.deyo.rbw.service;
 
-import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import me.deyo.rbw.RBWPlugin;
+import me.deyo.rbw.core.outbound.OutboundJson;
 import me.deyo.rbw.core.WebSocketManager;
-import me.deyo.rbw.model.QueueInfo;
+import me.deyo.rbw.model.QueueSnapshot;
 import me.deyo.rbw.service.game.GameSetupService;
+import me.deyo.rbw.service.game.GameSetupSession;
+import me.deyo.rbw.service.protocol.InboundMessage;
+import me.deyo.rbw.service.protocol.MessageDecoder;
+import me.deyo.rbw.service.protocol.MessageHandlerRegistry;
+import me.deyo.rbw.service.protocol.MessageLane;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
 public class MessageService {
     
     private final WebSocketManager webSocketManager;
     private final RBWPlugin plugin;
+    private final MessageHandlerRegistry registry;
+    
+    private static final String PONG_PREFIX = OutboundJson.typePrefix("PONG");
+    private static final String WARP_SUCCESS_PREFIX = OutboundJson.typePrefix("WARP_SUCCESS");
+    private static final String WARP_FAILED_ARENA_NOT_FOUND_PREFIX = OutboundJson.typePrefix("WARP_FAILED_ARENA_NOT_FOUND");
+    private static final String WARP_FAILED_OFFLINE_PLAYERS_PREFIX = OutboundJson.typePrefix("WARP_FAILED_OFFLINE_PLAYERS");
+    private static final String ERROR_PREFIX = OutboundJson.typePrefix("ERROR");
+    private static final String TIMESTAMP_KEY = OutboundJson.key("timestamp");
+    private static final String REQUEST_ID_KEY = OutboundJson.key("request_id");
+    private static final String GAME_ID_KEY = OutboundJson.key("game_id");
+    private static final String MAP_KEY = OutboundJson.key("map");
+    private static final String ERROR_KEY = OutboundJson.key("error");
+    private static final String OFFLINE_PLAYERS_KEY = OutboundJson.key("offline_players");
+    private static final String TIMINGS_KEY = OutboundJson.key("timings");
+    private static final String SELECT_MS_KEY = OutboundJson.key("select_ms");
+    private static final String LOAD_MS_KEY = OutboundJson.key("load_ms");
+    private static final String WARP_MS_KEY = OutboundJson.key("warp_ms");
+    private static final String START_MS_KEY = OutboundJson.key("start_ms");
+    private static final String TOTAL_MS_KEY = OutboundJson.key("total_ms");
+    private static final String CHUNKS_KEY = OutboundJson.key("chunks");
+    private static final String CHUNKS_LOADED_KEY = OutboundJson.key("chunks_loaded");
+    private static final String CHUNK_DEADLINE_MISSED_KEY = OutboundJson.key("chunk_deadline_missed");
     
     public MessageService(WebSocketManager webSocketManager, RBWPlugin plugin) {
         this.webSocketManager = webSocketManager;
         this.plugin = plugin;
+        this.registry = plugin.getMessageHandlerRegistry();
+        registerHandlers();
+    }
+    
+    private void registerHandlers() {
+        registry.register("SERVERSTATUS", MessageLane.INLINE, MessageDecoder::decodeServerStatus, this::handleServerStatus);
+        registry.register("PING", MessageLane.INLINE, MessageDecoder::decodePing, this::handlePing);
+        registry.register("ACK", MessageLane.INLINE, MessageDecoder::decodeAck, this::handleAck);
+        registry.register("PLAYERSTATUS", MessageLane.INLINE, MessageDecoder::decodePlayerStatus, this::handlePlayerStatus);
+        registry.register("WARPPLAYERS", MessageLane.SETUP, MessageDecoder::decodeWarpPlayers, this::handleWarpPlayers);
+        registry.register("RETRYGAME", MessageLane.SETUP, MessageDecoder::decodeWarpPlayers, this::handleRetryGame);
+        registry.register("QUEUESTATUS", MessageLane.BULK, true, MessageDecoder::decodeQueueStatus, this::handleQueueStatus);
+        registry.register("QUEUEDELTA", MessageLane.BULK, MessageDecoder::decodeQueueDelta, this::handleQueueDelta);
+        registry.register("CHECKPLAYER", MessageLane.PLAYER, MessageDecoder::decodeCheckPlayer, this::handleCheckPlayer);
+        registry.register("VERIFICATIONCODE", MessageLane.PLAYER, MessageDecoder::decodePlayerNotice, this::handleVerificationCode);
+        registry.register("CALLSUCCESS", MessageLane.PLAYER, MessageDecoder::decodePlayerNotice, this::handleCallSuccess);
+        registry.register("CALLFAILURE", MessageLane.PLAYER, MessageDecoder::decodePlayerNotice, this::handleCallFailure);
+        registry.register("AUTOSSSUCCESS", MessageLane.PLAYER, MessageDecoder::decodePlayerNotice, this::handleAutossSuccess);
+        registry.register("AUTOSSERROR", MessageLane.PLAYER, MessageDecoder::decodePlayerNotice, this::handleAutossError);
+        registry.register("SCREENSHAREDONTLOGSUCCESS", MessageLane.PLAYER, MessageDecoder::decodePlayerNotice, this::handleScreenshareDontLogSuccess);
+        registry.register("SCREENSHAREDONTLOGERROR", MessageLane.PLAYER, MessageDecoder::decodePlayerNotice, this::handleScreenshareDontLogError);
     }
     
     public void handleMessage(String message) {
-        if (message == null || message.trim().isEmpty()) {
+        if (message == null) {
             return;
         }
         
-        if (isNonJsonContent(message)) {
+        char first = firstNonWhitespace(message);
+        if (first != '{' && first != '[') {
             return;
         }
         
+        long receivedAt = System.nanoTime();
         try {
-            JsonObject json = new JsonParser().parse(message).getAsJsonObject();
-            if (!json.has("type")) {
+            String type = MessageDecoder.peekType(message);
+            if (type == null) {
                 return;
             }
             
-            String type = json.get("type").getAsString();
-            handleMessageByType(type, json);
+            if (!registry.dispatch(MessageDecoder.normalizeType(type), message, receivedAt)) {
+                plugin.getLogger().info("Unknown message type: " + type);
+            }
             
         } catch (Exception e) {
-            if (message.trim().startsWith("{") || message.trim().startsWith("[")) {
-                plugin.getLogger().warning("Failed to parse JSON: " + message);
-            }
+            plugin.getLogger().warning("Failed to parse JSON: " + message);
         }
     }
     
-    private boolean isNonJsonContent(String message) {
-        String trimmed = message.trim();
-        return trimmed.startsWith("HTTP/") ||
-               trimmed.startsWith("Date:") ||
-               trimmed.startsWith("Server:") ||
-               trimmed.startsWith("Content-") ||
-               trimmed.startsWith("Connection:") ||
-               trimmed.startsWith("Failed to open") ||
-               (!trimmed.startsWith("{") && !trimmed.startsWith("["));
-    }
-    
-    private void handleMessageByType(String type, JsonObject json) {
-        switch (type.toUpperCase()) {
-            case "SERVER_STATUS":
-            case "SERVERSTATUS":
-                handleServerStatus(json);
-                break;
-            case "WARP_PLAYERS":
-            case "WARPPLAYERS":
-                handleWarpPlayers(json);
-                break;
-            case "PING":
-                handlePing(json);
-                break;
-            case "QUEUESTATUS":
-                handleQueueStatus(json);
-                break;
-            case "CHECK_PLAYER":
-            case "CHECKPLAYER":
-                handleCheckPlayer(json);
-                break;
-            case "RETRYGAME":
-                handleRetryGame(json);
-                break;
-            case "VERIFICATION_CODE":
-            case "VERIFICATIONCODE":
-                handleVerificationCode(json);
-                break;
-            case "CALL_SUCCESS":
-            case "CALLSUCCESS":
-                handleCallSuccess(json);
-                break;
-            case "CALL_FAILURE":
-            case "CALLFAILURE":
-                handleCallFailure(json);
-                break;
-            case "AUTOSS_SUCCESS":
-            case "AUTOSSSUCCESS":
-                handleAutossSuccess(json);
-                break;
-            case "AUTOSS_ERROR":
-            case "AUTOSSERROR":
-                handleAutossError(json);
-                break;
-            case "SCREENSHAREDONTLOG_SUCCESS":
-            case "SCREENSHAREDONTLOGSUCCESS":
-                handleScreenshareDontLogSuccess(json);
-                break;
-            case "SCREENSHAREDONTLOG_ERROR":
-            case "SCREENSHAREDONTLOGERROR":
-                handleScreenshareDontLogError(json);
-                break;
-            case "PLAYER_STATUS":
-            case "PLAYERSTATUS":
-                handlePlayerStatus(json);
-                break;
-            default:
-                plugin.getLogger().info("Unknown message type: " + type);
+    private char firstNonWhitespace(String message) {
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                return c;
+            }
         }
+        return 0;
     }
     
-    private void handleServerStatus(JsonObject json) {
-        String status = json.has("status") ? json.get("status").getAsString() : "unknown";
-        plugin.getLogger().info("Server status: " + status);
+    private void handleServerStatus(InboundMessage.ServerStatus message) {
+        plugin.getLogger().info("Server status: " + message.getStatus());
     }
     
-    private void handlePing(JsonObject json) {
-        JsonObject response = new JsonObject();
-        response.addProperty("type", "PONG");
-        response.addProperty("timestamp", System.currentTimeMillis() / 1000.0);
-        if (json.has("request_id")) {
-            response.addProperty("request_id", json.get("request_id").getAsString());
+    private void handlePing(InboundMessage.Ping message) {
+        OutboundJson response = OutboundJson.start(PONG_PREFIX)
+            .field(TIMESTAMP_KEY, System.currentTimeMillis() / 1000.0);
+        if (message.getRequestId() != null) {
+            response.field(REQUEST_ID_KEY, message.getRequestId());
         }
-        webSocketManager.sendMessage(response);
+        webSocketManager.sendSerialized("PONG", response.finish());
     }
     
-    private void handleWarpPlayers(JsonObject json) {
-        String requestId = json.has("request_id") ? json.get("request_id").getAsString() : null;
+    private void handleAck(InboundMessage.Ack message) {
+        webSocketManager.acknowledge(message.getSeq());
+    }
+    
+    private void handleWarpPlayers(InboundMessage.WarpPlayers message) {
+        String requestId = message.getRequestId();
         
         try {
-            String gameId = json.get("game_id").getAsString();
-            String mapName = json.get("map").getAsString();
-            boolean isRanked = json.get("is_ranked").getAsBoolean();
-            
-            List<String> team1 = extractPlayerNames(json.getAsJsonArray("team1"));
-            List<String> team2 = extractPlayerNames(json.getAsJsonArray("team2"));
+            String gameId = requireField(message.getGameId(), "game_id");
+            String mapName = requireField(message.getMapName(), "map");
+            boolean isRanked = requireField(message.getRanked(), "is_ranked");
             
-            GameSetupService.Result result = GameSetupService.setupGame(plugin, mapName, team1, team2, isRanked, gameId);
+            GameSetupService.Result result = GameSetupService.setupGame(plugin, mapName, message.getTeam1(), message.getTeam2(), isRanked, gameId);
             
             if (result.isSuccess()) {
-                plugin.getGameManager().registerGame(gameId, result.getArenaName(), team1, team2);
-                sendWarpSuccessResponse(gameId, result.getArenaName(), requestId);
+                plugin.getGameManager().registerGame(gameId, result.getArenaName(), message.getTeam1(), message.getTeam2());
+                GameSetupSession session = result.getSession();
+                session.getPromise().whenComplete((ignored, error) -> {
+                    if (error == null) {
+                        sendWarpSuccessResponse(session, requestId);
+                    } else {
+                        plugin.getGameManager().unregisterGame(gameId);
+                        sendWarpFailureResponse(gameId, mapName, new GameSetupService.Result(false, session.getFailureReason(), session.getArenaName(), null), requestId);
+                    }
+                });
             } else {
                 sendWarpFailureResponse(gameId, mapName, result, requestId);
             }
@@ -161,62 +150,86 @@ public class MessageService {
         }
     }
     
-    private void handleQueueStatus(JsonObject json) {
+    private <T> T requireField(T value, String field) {
+        if (value == null) {
+            throw new IllegalArgumentException("Missing field: " + field);
+        }
+        return value;
+    }
+    
+    private void handleQueueStatus(InboundMessage.QueueStatus message) {
+        if (message.getQueues() == null) {
+            return;
+        }
+        
+        webSocketManager.updateQueues(message.getQueues(), message.getVersion());
+    }
+    
+    private void handleQueueDelta(InboundMessage.QueueDelta message) {
         try {
-            if (!json.has("queues") || !json.get("queues").isJsonObject()) {
-                return;
-            }
-            
-            JsonObject queuesObj = json.getAsJsonObject("queues");
-            Map<String, QueueInfo> newQueues = new HashMap<>();
-            
-            for (Map.Entry<String, com.google.gson.JsonElement> entry : queuesObj.entrySet()) {
-                String queueName = entry.getKey();
-                JsonObject queueJson = entry.getValue().getAsJsonObject();
-                
-                List<String> players = extractPlayerNames(queueJson.getAsJsonArray("players"));
-                QueueInfo.EloRange eloRange = extractEloRange(queueJson.getAsJsonObject("elo_range"));
-                int capacity = queueJson.has("capacity") ? queueJson.get("capacity").getAsInt() : 0;
-                
-                newQueues.put(queueName, new QueueInfo(players, eloRange, capacity));
-            }
-            
-            webSocketManager.updateQueues(newQueues);
+            webSocketManager.applyQueueDelta(message.getVersion(), queues -> {
+                for (InboundMessage.QueueChange change : message.getChanges()) {
+                    applyQueueChange(queues, change);
+                }
+            });
         } catch (Exception e) {
-            plugin.getLogger().warning("Failed to process queue status: " + e.getMessage());
+            plugin.getLogger().warning("Failed to process queue delta: " + e.getMessage());
+        }
+    }
+    
+    private void applyQueueChange(QueueSnapshot queues, InboundMessage.QueueChange change) {
+        if (change.getQueue() == null || change.getOp() == null) return;
+        
+        String queueName = change.getQueue();
+        String op = change.getOp().toLowerCase();
+        
+        switch (op) {
+            case "join":
+                queues.join(queueName, change.getIgn());
+                break;
+            case "leave":
+                queues.leave(queueName, change.getIgn());
+                break;
+            case "update":
+                queues.update(queueName, change.getCapacity(), change.getEloRange());
+                break;
+            case "remove":
+                queues.remove(queueName);
+                break;
+            default:
+                plugin.getLogger().info("Unknown queue delta op: " + op);
         }
     }
     
-    private void handleCheckPlayer(JsonObject json) {
+    private void handleCheckPlayer(InboundMessage.CheckPlayer message) {
         try {
-            if (!json.has("ign")) return;
-            
-            String playerName = json.get("ign").getAsString();
-            String requestId = json.has("request_id") ? json.get("request_id").getAsString() : null;
-            
-            boolean isOnline = Bukkit.getPlayerExact(playerName) != null;
-            webSocketManager.sendPlayerStatus(playerName, isOnline, requestId);
+            boolean isOnline = Bukkit.getPlayerExact(message.getIgn()) != null;
+            webSocketManager.sendPlayerStatus(message.getIgn(), isOnline, message.getRequestId());
         } catch (Exception e) {
             plugin.getLogger().warning("Failed to process check player: " + e.getMessage());
         }
     }
     
-    private void handleRetryGame(JsonObject json) {
+    private void handleRetryGame(InboundMessage.WarpPlayers message) {
         try {
-            if (!json.has("gameid")) return;
+            if (message.getGameId() == null) return;
             
-            String gameId = json.get("gameid").getAsString();
-            String mapName = json.has("map") ? json.get("map").getAsString() : null;
-            boolean isRanked = json.has("is_ranked") ? json.get("is_ranked").getAsBoolean() : true;
+            String gameId = message.getGameId();
+            boolean isRanked = message.getRanked() != null ? message.getRanked() : true;
             
-            List<String> team1 = extractPlayerNames(json.getAsJsonArray("team1"));
-            List<String> team2 = extractPlayerNames(json.getAsJsonArray("team2"));
-            
-            GameSetupService.Result result = GameSetupService.setupGame(plugin, mapName, team1, team2, isRanked, gameId);
+            GameSetupService.Result result = GameSetupService.setupGame(plugin, message.getMapName(), message.getTeam1(), message.getTeam2(), isRanked, gameId);
             
             if (result.isSuccess()) {
-                plugin.getGameManager().registerGame(gameId, result.getArenaName(), team1, team2);
-                sendRetrySuccessResponse(gameId);
+                plugin.getGameManager().registerGame(gameId, result.getArenaName(), message.getTeam1(), message.getTeam2());
+                GameSetupSession session = result.getSession();
+                session.getPromise().whenComplete((ignored, error) -> {
+                    if (error == null) {
+                        sendRetrySuccessResponse(gameId);
+                    } else {
+                        plugin.getGameManager().unregisterGame(gameId);
+                        sendRetryFailureResponse(gameId, session.getFailureReason());
+                    }
+                });
             } else {
                 sendRetryFailureResponse(gameId, result.getMessage());
             }
@@ -225,17 +238,13 @@ public class MessageService {
         }
     }
     
-    private void handleVerificationCode(JsonObject json) {
+    private void handleVerificationCode(InboundMessage.PlayerNotice message) {
         try {
-            String playerName = json.has("ign") ? json.get("ign").getAsString() : null;
-            String message = json.has("message") ? json.get("message").getAsString() : null;
-            String code = json.has("code") ? json.get("code").getAsString() : null;
-            
-            if (playerName != null && message != null) {
-                Player player = Bukkit.getPlayerExact(playerName);
+            if (message.getIgn() != null && message.getMessage() != null) {
+                Player player = Bukkit.getPlayerExact(message.getIgn());
                 if (player != null && player.isOnline()) {
                     player.sendMessage(ChatColor.GOLD + "[Ranked] " + ChatColor.GREEN + 
-                        "Your Ranked BedWars Verification Code is: " + ChatColor.AQUA + code);
+                        "Your Ranked BedWars Verification Code is: " + ChatColor.AQUA + message.getCode());
                 }
             }
         } catch (Exception e) {
@@ -243,13 +252,12 @@ public class MessageService {
         }
     }
     
-    private void handleCallSuccess(JsonObject json) {
+    private void handleCallSuccess(InboundMessage.PlayerNotice message) {
         try {
-            String requesterName = json.has("requester_ign") ? json.get("requester_ign").getAsString() : null;
-            String targetName = json.has("target_ign") ? json.get("target_ign").getAsString() : null;
+            String targetName = message.getTargetIgn();
             
-            if (requesterName != null) {
-                Player player = Bukkit.getPlayerExact(requesterName);
+            if (message.getRequesterIgn() != null) {
+                Player player = Bukkit.getPlayerExact(message.getRequesterIgn());
                 if (player != null && player.isOnline()) {
                     player.sendMessage(ChatColor.GREEN + "Voice call request successful! " + 
                         (targetName != null ? targetName + " can now join/speak in the voice channel." : ""));
@@ -260,13 +268,12 @@ public class MessageService {
         }
     }
     
-    private void handleCallFailure(JsonObject json) {
+    private void handleCallFailure(InboundMessage.PlayerNotice message) {
         try {
-            String requesterName = json.has("requester_ign") ? json.get("requester_ign").getAsString() : null;
-            String reason = json.has("reason") ? json.get("reason").getAsString() : "Unknown error";
+            String reason = message.getReason() != null ? message.getReason() : "Unknown error";
             
-            if (requesterName != null) {
-                Player player = Bukkit.getPlayerExact(requesterName);
+            if (message.getRequesterIgn() != null) {
+                Player player = Bukkit.getPlayerExact(message.getRequesterIgn());
                 if (player != null && player.isOnline()) {
                     player.sendMessage(ChatColor.RED + "Voice call request failed: " + reason);
                 }
@@ -276,20 +283,17 @@ public class MessageService {
         }
     }
     
-    private void handleAutossSuccess(JsonObject json) {
+    private void handleAutossSuccess(InboundMessage.PlayerNotice message) {
         try {
-            String requesterName = json.has("requester_ign") ? json.get("requester_ign").getAsString() : null;
-            String targetName = json.has("target_ign") ? json.get("target_ign").getAsString() : null;
-            String screenshareId = json.has("screenshare_id") ? json.get("screenshare_id").getAsString() : null;
-            String message = json.has("message") ? json.get("message").getAsString() : null;
+            String screenshareId = message.getScreenshareId();
             
-            if (requesterName != null) {
-                Player player = Bukkit.getPlayerExact(requesterName);
+            if (message.getRequesterIgn() != null) {
+                Player player = Bukkit.getPlayerExact(message.getRequesterIgn());
                 if (player != null && player.isOnline()) {
-                    player.sendMessage(ChatColor.GREEN + "Screenshare created successfully for " + targetName + 
+                    player.sendMessage(ChatColor.GREEN + "Screenshare created successfully for " + message.getTargetIgn() + 
                         (screenshareId != null ? " (ID: " + screenshareId + ")" : ""));
-                    if (message != null) {
-                        player.sendMessage(ChatColor.GRAY + message);
+                    if (message.getMessage() != null) {
+                        player.sendMessage(ChatColor.GRAY + message.getMessage());
                     }
                 }
             }
@@ -298,13 +302,12 @@ public class MessageService {
         }
     }
     
-    private void handleAutossError(JsonObject json) {
+    private void handleAutossError(InboundMessage.PlayerNotice message) {
         try {
-            String requesterName = json.has("requester_ign") ? json.get("requester_ign").getAsString() : null;
-            String error = json.has("error") ? json.get("error").getAsString() : "Unknown error";
+            String error = message.getError() != null ? message.getError() : "Unknown error";
             
-            if (requesterName != null) {
-                Player player = Bukkit.getPlayerExact(requesterName);
+            if (message.getRequesterIgn() != null) {
+                Player player = Bukkit.getPlayerExact(message.getRequesterIgn());
                 if (player != null && player.isOnline()) {
                     player.sendMessage(ChatColor.RED + "Screenshare request failed: " + error);
                 }
@@ -314,17 +317,14 @@ public class MessageService {
         }
     }
     
-    private void handleScreenshareDontLogSuccess(JsonObject json) {
+    private void handleScreenshareDontLogSuccess(InboundMessage.PlayerNotice message) {
         try {
-            String targetName = json.has("target_ign") ? json.get("target_ign").getAsString() : null;
-            String message = json.has("message") ? json.get("message").getAsString() : null;
-            
-            if (targetName != null) {
-                Player player = Bukkit.getPlayerExact(targetName);
+            if (message.getTargetIgn() != null) {
+                Player player = Bukkit.getPlayerExact(message.getTargetIgn());
                 if (player != null && player.isOnline()) {
                     player.sendMessage(ChatColor.RED + "You are currently being screenshared");
-                    if (message != null) {
-                        player.sendMessage(ChatColor.GRAY + message);
+                    if (message.getMessage() != null) {
+                        player.sendMessage(ChatColor.GRAY + message.getMessage());
                     }
                 }
             }
@@ -333,13 +333,12 @@ public class MessageService {
         }
     }
     
-    private void handleScreenshareDontLogError(JsonObject json) {
+    private void handleScreenshareDontLogError(InboundMessage.PlayerNotice message) {
         try {
-            String targetName = json.has("target_ign") ? json.get("target_ign").getAsString() : null;
-            String error = json.has("error") ? json.get("error").getAsString() : "Unknown error";
+            String error = message.getError() != null ? message.getError() : "Unknown error";
             
-            if (targetName != null) {
-                Player player = Bukkit.getPlayerExact(targetName);
+            if (message.getTargetIgn() != null) {
+                Player player = Bukkit.getPlayerExact(message.getTargetIgn());
                 if (player != null && player.isOnline()) {
                     player.sendMessage(ChatColor.RED + "Screenshare logging toggle failed: " + error);
                 }
@@ -349,75 +348,57 @@ public class MessageService {
         }
     }
     
-    private void handlePlayerStatus(JsonObject json) {
+    private void handlePlayerStatus(InboundMessage.PlayerStatus message) {
         try {
-            String playerName = json.has("ign") ? json.get("ign").getAsString() : null;
-            boolean online = json.has("online") ? json.get("online").getAsBoolean() : false;
-            String requestId = json.has("request_id") ? json.get("request_id").getAsString() : null;
-            
-            if (requestId != null) {
-                webSocketManager.sendPlayerStatus(playerName, online, requestId);
+            if (message.getRequestId() != null) {
+                webSocketManager.sendPlayerStatus(message.getIgn(), message.isOnline(), message.getRequestId());
             }
         } catch (Exception e) {
             plugin.getLogger().warning("Failed to process player status: " + e.getMessage());
         }
     }
     
-    private List<String> extractPlayerNames(JsonArray playersArray) {
-        List<String> names = new ArrayList<>();
-        if (playersArray == null) return names;
-        
-        for (int i = 0; i < playersArray.size(); i++) {
-            try {
-                JsonObject playerJson = playersArray.get(i).getAsJsonObject();
-                if (playerJson.has("ign")) {
-                    names.add(playerJson.get("ign").getAsString());
-                }
-            } catch (Exception ignored) {}
-        }
-        return names;
-    }
-    
-    private QueueInfo.EloRange extractEloRange(JsonObject eloJson) {
-        if (eloJson == null) {
-            return new QueueInfo.EloRange(0, 0);
-        }
-        
-        int min = eloJson.has("min") ? eloJson.get("min").getAsInt() : 0;
-        int max = eloJson.has("max") ? eloJson.get("max").getAsInt() : 0;
-        return new QueueInfo.EloRange(min, max);
-    }
-    
-    private void sendWarpSuccessResponse(String gameId, String arenaName, String requestId) {
-        JsonObject response = new JsonObject();
-        response.addProperty("type", "WARP_SUCCESS");
-        response.addProperty("game_id", gameId);
-        response.addProperty("map", arenaName);
-        if (requestId != null) response.addProperty("request_id", requestId);
-        webSocketManager.sendMessage(response);
+    private void sendWarpSuccessResponse(GameSetupSession session, String requestId) {
+        OutboundJson response = OutboundJson.start(WARP_SUCCESS_PREFIX)
+            .field(GAME_ID_KEY, session.getGameId())
+            .field(MAP_KEY, session.getArenaName())
+            .beginObject(TIMINGS_KEY)
+            .field(SELECT_MS_KEY, session.getPhaseMillis(GameSetupSession.Phase.SELECTING))
+            .field(LOAD_MS_KEY, session.getPhaseMillis(GameSetupSession.Phase.LOADING))
+            .field(WARP_MS_KEY, session.getPhaseMillis(GameSetupSession.Phase.WARPING))
+            .field(START_MS_KEY, session.getPhaseMillis(GameSetupSession.Phase.STARTING))
+            .field(TOTAL_MS_KEY, session.getTotalMillis())
+            .endObject()
+            .field(CHUNKS_KEY, session.getChunkCount())
+            .field(CHUNKS_LOADED_KEY, session.getChunksLoaded())
+            .field(CHUNK_DEADLINE_MISSED_KEY, session.isChunkDeadlineMissed());
+        if (requestId != null) response.field(REQUEST_ID_KEY, requestId);
+        webSocketManager.sendSerialized("WARP_SUCCESS", response.finish());
     }
     
     private void sendWarpFailureResponse(String gameId, String mapName, GameSetupService.Result result, String requestId) {
-        JsonObject response = new JsonObject();
+        OutboundJson response;
+        String type;
         
         if (result.getArenaName() == null && (result.getOfflinePlayers() == null || result.getOfflinePlayers().isEmpty())) {
-            response.addProperty("type", "WARP_FAILED_ARENA_NOT_FOUND");
+            type = "WARP_FAILED_ARENA_NOT_FOUND";
+            response = OutboundJson.start(WARP_FAILED_ARENA_NOT_FOUND_PREFIX);
         } else if (result.getOfflinePlayers() != null && !result.getOfflinePlayers().isEmpty()) {
-            response.addProperty("type", "WARP_FAILED_OFFLINE_PLAYERS");
-            JsonArray offlinePlayers = new JsonArray();
+            type = "WARP_FAILED_OFFLINE_PLAYERS";
+            response = OutboundJson.start(WARP_FAILED_OFFLINE_PLAYERS_PREFIX).beginArray(OFFLINE_PLAYERS_KEY);
             for (String player : result.getOfflinePlayers()) {
-                offlinePlayers.add(new com.google.gson.JsonPrimitive(player));
+                response.element(player);
             }
-            response.add("offline_players", offlinePlayers);
+            response.endArray();
         } else {
-            response.addProperty("type", "ERROR");
-            response.addProperty("error", result.getMessage() != null ? result.getMessage() : "Unknown warp failure");
+            type = "ERROR";
+            response = OutboundJson.start(ERROR_PREFIX)
+                .field(ERROR_KEY, result.getMessage() != null ? result.getMessage() : "Unknown warp failure");
         }
         
-        response.addProperty("game_id", gameId);
-        response.addProperty("map", mapName);
-        if (requestId != null) response.addProperty("request_id", requestId);
-        webSocketManager.sendMessage(response);
+        response.field(GAME_ID_KEY, gameId).field(MAP_KEY, mapName);
+        if (requestId != null) response.field(REQUEST_ID_KEY, requestId);
+        webSocketManager.sendSerialized(type, response.finish());
     }
     
     private void sendErrorResponse(String error, String details, String requestId) {
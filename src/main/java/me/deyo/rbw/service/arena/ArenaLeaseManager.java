@@ -0,0 +1,232 @@
+package me.deyo.rbw.service.arena;
+
+import me.deyo.rbw.RBWPlugin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ArenaLeaseManager {
+    
+    private final RBWPlugin plugin;
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder contended = new LongAdder();
+    private final LongAdder released = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private int taskId = -1;
+    
+    public ArenaLeaseManager(RBWPlugin plugin) {
+        this.plugin = plugin;
+    }
+    
+    public void start() {
+        if (taskId != -1) {
+            stop();
+        }
+        
+        taskId = plugin.getServer().getScheduler().runTaskTimer(plugin, this::purgeExpired, 20L, 20L).getTaskId();
+    }
+    
+    public void stop() {
+        if (taskId != -1) {
+            plugin.getServer().getScheduler().cancelTask(taskId);
+            taskId = -1;
+        }
+    }
+    
+    public boolean tryAcquire(String arenaName, String holder) {
+        return tryAcquire(arenaName, holder, TimeUnit.SECONDS.toMillis(plugin.getConfigManager().getArenaLeaseTtlSeconds()));
+    }
+    
+    public boolean tryAcquire(String arenaName, String holder, long ttlMillis) {
+        if (arenaName == null || holder == null) {
+            return false;
+        }
+        
+        String key = key(arenaName);
+        Lease lease = new Lease(arenaName, holder, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttlMillis));
+        while (true) {
+            Lease current = leases.putIfAbsent(key, lease);
+            if (current == null) {
+                acquired.increment();
+                return true;
+            }
+            
+            if (!current.isExpired(System.nanoTime())) {
+                contended.increment();
+                return false;
+            }
+            
+            if (leases.replace(key, current, lease)) {
+                expired.increment();
+                acquired.increment();
+                plugin.getLogger().warning("Reclaimed expired lease on arena " + arenaName + " held by " + current.holder);
+                return true;
+            }
+        }
+    }
+    
+    public boolean renew(String arenaName, String holder, long ttlMillis) {
+        Lease current = arenaName != null ? leases.get(key(arenaName)) : null;
+        if (current == null || !current.holder.equals(holder) || current.isExpired(System.nanoTime())) {
+            return false;
+        }
+        
+        Lease renewed = new Lease(current.arenaName, holder, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttlMillis), current.pinned);
+        return leases.replace(key(arenaName), current, renewed);
+    }
+    
+    public boolean transfer(String arenaName, String fromHolder, String toHolder) {
+        Lease current = arenaName != null ? leases.get(key(arenaName)) : null;
+        if (current == null || !current.holder.equals(fromHolder) || current.isExpired(System.nanoTime())) {
+            return false;
+        }
+        
+        long expiresAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(plugin.getConfigManager().getArenaLeaseTtlSeconds());
+        if (leases.replace(key(arenaName), current, new Lease(current.arenaName, toHolder, expiresAt))) {
+            acquired.increment();
+            return true;
+        }
+        return false;
+    }
+    
+    public boolean confirm(String arenaName, String holder) {
+        Lease current = arenaName != null ? leases.get(key(arenaName)) : null;
+        if (current == null || !current.holder.equals(holder) || current.isExpired(System.nanoTime())) {
+            return false;
+        }
+        
+        return leases.replace(key(arenaName), current, current.pinned());
+    }
+    
+    public boolean release(String arenaName, String holder) {
+        if (arenaName == null) {
+            return false;
+        }
+        
+        String key = key(arenaName);
+        Lease current = leases.get(key);
+        if (current == null || (holder != null && !holder.equals(current.holder))) {
+            return false;
+        }
+        
+        if (leases.remove(key, current)) {
+            released.increment();
+            onReleased(arenaName);
+            return true;
+        }
+        return false;
+    }
+    
+    public boolean release(String arenaName) {
+        return release(arenaName, null);
+    }
+    
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        for (Map.Entry<String, Lease> entry : leases.entrySet()) {
+            Lease lease = entry.getValue();
+            if (lease.isExpired(now) && leases.remove(entry.getKey(), lease)) {
+                expired.increment();
+                plugin.getLogger().warning("Lease on arena " + lease.arenaName + " held by " + lease.holder + " expired");
+                onReleased(lease.arenaName);
+            }
+        }
+    }
+    
+    private void onReleased(String arenaName) {
+        ArenaPool arenaPool = plugin.getArenaPool();
+        if (arenaPool == null || !plugin.isEnabled()) {
+            return;
+        }
+        
+        plugin.getServer().getScheduler().runTask(plugin, () -> arenaPool.refresh(arenaPool.getArena(arenaName)));
+    }
+    
+    public boolean isLeased(String arenaName) {
+        if (arenaName == null) {
+            return false;
+        }
+        
+        Lease lease = leases.get(key(arenaName));
+        return lease != null && !lease.isExpired(System.nanoTime());
+    }
+    
+    public String getHolder(String arenaName) {
+        Lease lease = arenaName != null ? leases.get(key(arenaName)) : null;
+        return lease != null && !lease.isExpired(System.nanoTime()) ? lease.holder : null;
+    }
+    
+    public List<String> getLeasedArenas() {
+        List<String> arenas = new ArrayList<>();
+        long now = System.nanoTime();
+        for (Lease lease : leases.values()) {
+            if (!lease.isExpired(now)) {
+                arenas.add(lease.arenaName);
+            }
+        }
+        return arenas;
+    }
+    
+    public int getActiveCount() {
+        int count = 0;
+        long now = System.nanoTime();
+        for (Lease lease : leases.values()) {
+            if (!lease.isExpired(now)) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    public long getAcquiredCount() {
+        return acquired.sum();
+    }
+    
+    public long getContendedCount() {
+        return contended.sum();
+    }
+    
+    public long getReleasedCount() {
+        return released.sum();
+    }
+    
+    public long getExpiredCount() {
+        return expired.sum();
+    }
+    
+    private static String key(String arenaName) {
+        return arenaName.toLowerCase(Locale.ROOT);
+    }
+    
+    private static final class Lease {
+        private final String arenaName;
+        private final String holder;
+        private final long expiresAt;
+        private final boolean pinned;
+        
+        private Lease(String arenaName, String holder, long expiresAt) {
+            this(arenaName, holder, expiresAt, false);
+        }
+        
+        private Lease(String arenaName, String holder, long expiresAt, boolean pinned) {
+            this.arenaName = arenaName;
+            this.holder = holder;
+            this.expiresAt = expiresAt;
+            this.pinned = pinned;
+        }
+        
+        private Lease pinned() {
+            return new Lease(arenaName, holder, expiresAt, true);
+        }
+        
+        private boolean isExpired(long now) {
+            return !pinned && now - expiresAt > 0;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package me.deyo.rbw.service.arena;
+
+import com.andrei1058.bedwars.api.arena.GameState;
+import com.andrei1058.bedwars.api.arena.IArena;
+import me.deyo.rbw.RBWPlugin;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+public class ArenaPool {
+    
+    private final RBWPlugin plugin;
+    private final Random random = new Random();
+    private final Map<String, IArena> arenasByName = new HashMap<>();
+    private final Map<String, Entry> availableByName = new HashMap<>();
+    private final NavigableMap<Integer, Bucket> available = new TreeMap<>();
+    private final Map<String, NavigableMap<Integer, Bucket>> availableByGroup = new HashMap<>();
+    
+    public ArenaPool(RBWPlugin plugin) {
+        this.plugin = plugin;
+    }
+    
+    public synchronized void rebuild() {
+        arenasByName.clear();
+        availableByName.clear();
+        available.clear();
+        availableByGroup.clear();
+        
+        if (plugin.getBedWarsAPI() == null) {
+            return;
+        }
+        
+        try {
+            for (IArena arena : plugin.getBedWarsAPI().getArenaUtil().getArenas()) {
+                track(arena);
+            }
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to index BedWars arenas: " + e.getMessage());
+        }
+        
+        if (plugin.getConfigManager().isDebugEnabled()) {
+            plugin.getLogger().info("Arena pool indexed " + arenasByName.size() + " arenas, " + availableByName.size() + " available for RBW");
+        }
+    }
+    
+    public synchronized void track(IArena arena) {
+        if (arena == null || arena.getArenaName() == null) {
+            return;
+        }
+        
+        arenasByName.put(key(arena.getArenaName()), arena);
+        refresh(arena);
+    }
+    
+    public synchronized void untrack(String arenaName) {
+        if (arenaName == null) {
+            return;
+        }
+        
+        arenasByName.remove(key(arenaName));
+        markUnavailable(arenaName);
+    }
+    
+    public synchronized void refresh(IArena arena) {
+        if (arena == null) {
+            return;
+        }
+        
+        if (isEligible(arena)) {
+            markAvailable(arena);
+        } else {
+            markUnavailable(arena.getArenaName());
+        }
+    }
+    
+    public synchronized void markUnavailable(String arenaName) {
+        Entry entry = availableByName.remove(key(arenaName));
+        if (entry == null) {
+            return;
+        }
+        
+        removeFrom(available, entry);
+        NavigableMap<Integer, Bucket> groupIndex = availableByGroup.get(entry.group);
+        if (groupIndex != null) {
+            removeFrom(groupIndex, entry);
+            if (groupIndex.isEmpty()) {
+                availableByGroup.remove(entry.group);
+            }
+        }
+    }
+    
+    private void markAvailable(IArena arena) {
+        String name = key(arena.getArenaName());
+        Entry existing = availableByName.get(name);
+        if (existing != null) {
+            if (existing.arena == arena && existing.maxPlayers == arena.getMaxPlayers()) {
+                return;
+            }
+            markUnavailable(name);
+        }
+        
+        Entry entry = new Entry(arena, key(arena.getGroup()), arena.getMaxPlayers());
+        availableByName.put(name, entry);
+        available.computeIfAbsent(entry.maxPlayers, size -> new Bucket()).add(entry);
+        availableByGroup.computeIfAbsent(entry.group, group -> new TreeMap<>())
+                .computeIfAbsent(entry.maxPlayers, size -> new Bucket()).add(entry);
+    }
+    
+    private void removeFrom(NavigableMap<Integer, Bucket> index, Entry entry) {
+        Bucket bucket = index.get(entry.maxPlayers);
+        if (bucket != null && bucket.remove(entry) && bucket.isEmpty()) {
+            index.remove(entry.maxPlayers);
+        }
+    }
+    
+    private boolean isEligible(IArena arena) {
+        return arena.getStatus() == GameState.waiting
+                && arena.getPlayers().isEmpty()
+                && plugin.getConfigManager().isRBWMode(arena.getGroup())
+                && arena.getTeams().size() >= 2
+                && !plugin.getArenaLeaseManager().isLeased(arena.getArenaName());
+    }
+    
+    public synchronized IArena getArena(String arenaName) {
+        return arenaName != null ? arenasByName.get(key(arenaName)) : null;
+    }
+    
+    public synchronized boolean isAvailable(String arenaName) {
+        return arenaName != null && availableByName.containsKey(key(arenaName));
+    }
+    
+    public synchronized IArena claim(String preferredMapName, int playerCount, String holder) {
+        if (preferredMapName != null && !preferredMapName.isEmpty() && !"random".equalsIgnoreCase(preferredMapName)) {
+            Entry preferred = availableByName.get(key(preferredMapName));
+            if (preferred != null && preferred.maxPlayers >= playerCount && confirm(preferred) && tryClaim(preferred, holder)) {
+                return preferred.arena;
+            }
+            plugin.getLogger().warning("Preferred arena '" + preferredMapName + "' not available, selecting alternative");
+        }
+        
+        return claimFrom(available, playerCount, holder);
+    }
+    
+    public synchronized IArena claimInGroup(String group, int playerCount, String holder) {
+        NavigableMap<Integer, Bucket> groupIndex = availableByGroup.get(key(group));
+        return groupIndex != null ? claimFrom(groupIndex, playerCount, holder) : null;
+    }
+    
+    private IArena claimFrom(NavigableMap<Integer, Bucket> index, int playerCount, String holder) {
+        Map.Entry<Integer, Bucket> slot = index.ceilingEntry(playerCount);
+        while (slot != null) {
+            Bucket bucket = slot.getValue();
+            int attempts = bucket.size();
+            int offset = attempts > 0 ? random.nextInt(attempts) : 0;
+            for (int i = 0; i < attempts && !bucket.isEmpty(); i++) {
+                Entry candidate = bucket.get((offset + i) % bucket.size());
+                if (confirm(candidate) && tryClaim(candidate, holder)) {
+                    return candidate.arena;
+                }
+            }
+            slot = index.higherEntry(slot.getKey());
+        }
+        return null;
+    }
+    
+    private boolean tryClaim(Entry entry, String holder) {
+        String arenaName = entry.arena.getArenaName();
+        boolean claimed = plugin.getArenaLeaseManager().tryAcquire(arenaName, holder);
+        markUnavailable(arenaName);
+        return claimed;
+    }
+    
+    private boolean confirm(Entry entry) {
+        if (isEligible(entry.arena)) {
+            return true;
+        }
+        
+        markUnavailable(entry.arena.getArenaName());
+        return false;
+    }
+    
+    public synchronized List<IArena> getAvailableArenas() {
+        List<IArena> arenas = new ArrayList<>(availableByName.size());
+        for (Entry entry : availableByName.values()) {
+            arenas.add(entry.arena);
+        }
+        return arenas;
+    }
+    
+    public synchronized int getAvailableCount() {
+        return availableByName.size();
+    }
+    
+    public synchronized int getAvailableCount(String group) {
+        NavigableMap<Integer, Bucket> groupIndex = availableByGroup.get(key(group));
+        if (groupIndex == null) {
+            return 0;
+        }
+        
+        int count = 0;
+        for (Bucket bucket : groupIndex.values()) {
+            count += bucket.size();
+        }
+        return count;
+    }
+    
+    public synchronized int getTrackedCount() {
+        return arenasByName.size();
+    }
+    
+    private static String key(String name) {
+        return name != null ? name.toLowerCase(Locale.ROOT) : "";
+    }
+    
+    private static final class Entry {
+        private final IArena arena;
+        private final String group;
+        private final int maxPlayers;
+        
+        private Entry(IArena arena, String group, int maxPlayers) {
+            this.arena = arena;
+            this.group = group;
+            this.maxPlayers = maxPlayers;
+        }
+    }
+    
+    private static final class Bucket {
+        private final List<Entry> entries = new ArrayList<>();
+        private final Map<Entry, Integer> positions = new IdentityHashMap<>();
+        
+        private void add(Entry entry) {
+            positions.put(entry, entries.size());
+            entries.add(entry);
+        }
+        
+        private boolean remove(Entry entry) {
+            Integer position = positions.remove(entry);
+            if (position == null) {
+                return false;
+            }
+            
+            Entry last = entries.remove(entries.size() - 1);
+            if (last != entry) {
+                entries.set(position, last);
+                positions.put(last, position);
+            }
+            return true;
+        }
+        
+        private Entry get(int index) {
+            return entries.get(index);
+        }
+        
+        private int size() {
+            return entries.size();
+        }
+        
+        private boolean isEmpty() {
+            return entries.isEmpty();
+        }
+    }
+}
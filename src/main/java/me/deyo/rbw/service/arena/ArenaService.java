@@ -11,7 +11,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Random;
-import java.util.stream.Collectors;
 
 public class ArenaService {
     
@@ -28,28 +27,27 @@ public class ArenaService {
             return new ArrayList<>();
         }
         
-        try {
-            return plugin.getBedWarsAPI().getArenaUtil().getArenas()
-                    .stream()
-                    .filter(arena -> arena.getStatus() == GameState.waiting)
-                    .filter(arena -> plugin.getConfigManager().isRBWMode(arena.getGroup()))
-                    .filter(this::isArenaAvailable)
-                    .collect(Collectors.toList());
-        } catch (Exception e) {
-            plugin.getLogger().warning("Failed to get available RBW arenas: " + e.getMessage());
-            return new ArrayList<>();
-        }
+        return plugin.getArenaPool().getAvailableArenas();
     }
     
     public IArena getArenaByName(String arenaName) {
         if (plugin.getBedWarsAPI() == null || arenaName == null) return null;
         
+        IArena indexed = plugin.getArenaPool().getArena(arenaName);
+        if (indexed != null) {
+            return indexed;
+        }
+        
         try {
-            return plugin.getBedWarsAPI().getArenaUtil().getArenas()
+            IArena arena = plugin.getBedWarsAPI().getArenaUtil().getArenas()
                     .stream()
-                    .filter(arena -> arena.getArenaName().equalsIgnoreCase(arenaName))
+                    .filter(candidate -> candidate.getArenaName().equalsIgnoreCase(arenaName))
                     .findFirst()
                     .orElse(null);
+            if (arena != null) {
+                plugin.getArenaPool().track(arena);
+            }
+            return arena;
         } catch (Exception e) {
             plugin.getLogger().warning("Failed to get arena: " + arenaName + " - " + e.getMessage());
             return null;
@@ -0,0 +1,341 @@
+package me.deyo.rbw.service.arena;
+
+import com.andrei1058.bedwars.api.arena.IArena;
+import com.andrei1058.bedwars.api.arena.team.ITeam;
+import me.deyo.rbw.RBWPlugin;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+public class ChunkPreloader {
+    
+    private final RBWPlugin plugin;
+    private final Map<String, Preload> preloads = new HashMap<>();
+    private final Map<String, Map<Long, Integer>> pinned = new HashMap<>();
+    private final ArrayDeque<Preload> loading = new ArrayDeque<>();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder deadlineMisses = new LongAdder();
+    private final LongAdder chunksLoaded = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final AtomicLong maxLoadNanos = new AtomicLong();
+    private int pinnedCount;
+    private long tick;
+    private int taskId = -1;
+    
+    public ChunkPreloader(RBWPlugin plugin) {
+        this.plugin = plugin;
+    }
+    
+    public Preload preload(IArena arena, Consumer<Preload> onReady) {
+        release(arena.getArenaName());
+        
+        Preload preload = new Preload(arena.getArenaName(), collectChunks(arena), onReady,
+            tick + plugin.getConfigManager().getChunkPreloadDeadlineTicks());
+        preloads.put(key(arena.getArenaName()), preload);
+        for (int i = 0; i < preload.worlds.length; i++) {
+            pin(preload.worlds[i], preload.keys[i]);
+        }
+        
+        if (preload.keys.length == 0) {
+            finish(preload, false);
+            preload.onReady.accept(preload);
+            return preload;
+        }
+        
+        loading.addLast(preload);
+        ensureRunning();
+        return preload;
+    }
+    
+    private Map<String, Map<Long, World>> collectChunks(IArena arena) {
+        Map<String, Map<Long, World>> chunks = new LinkedHashMap<>();
+        if (!plugin.getConfigManager().isChunkPreloadEnabled()) {
+            return chunks;
+        }
+        
+        int radius = plugin.getConfigManager().getChunkPreloadRadius();
+        List<Location> anchors = new ArrayList<>();
+        anchors.add(arena.getWaitingLocation());
+        for (ITeam team : arena.getTeams()) {
+            anchors.add(team.getSpawn());
+        }
+        
+        for (Location anchor : anchors) {
+            if (anchor == null) {
+                continue;
+            }
+            
+            World world = anchor.getWorld() != null ? anchor.getWorld() : arena.getWorld();
+            if (world == null) {
+                continue;
+            }
+            
+            Map<Long, World> worldChunks = chunks.computeIfAbsent(world.getName(), name -> new LinkedHashMap<>());
+            int centerX = anchor.getBlockX() >> 4;
+            int centerZ = anchor.getBlockZ() >> 4;
+            for (int x = centerX - radius; x <= centerX + radius; x++) {
+                for (int z = centerZ - radius; z <= centerZ + radius; z++) {
+                    worldChunks.putIfAbsent(chunkKey(x, z), world);
+                }
+            }
+        }
+        return chunks;
+    }
+    
+    public boolean release(String arenaName) {
+        Preload preload = preloads.remove(key(arenaName));
+        if (preload == null) {
+            return false;
+        }
+        
+        loading.remove(preload);
+        for (int i = 0; i < preload.worlds.length; i++) {
+            unpin(preload.worlds[i], preload.keys[i]);
+        }
+        return true;
+    }
+    
+    public boolean isPinned(World world, int x, int z) {
+        Map<Long, Integer> worldPins = pinned.get(world.getName());
+        return worldPins != null && worldPins.containsKey(chunkKey(x, z));
+    }
+    
+    public boolean isLoading(String arenaName) {
+        Preload preload = preloads.get(key(arenaName));
+        return preload != null && !preload.done;
+    }
+    
+    public int getPinnedCount() {
+        return pinnedCount;
+    }
+    
+    public int getLoadingCount() {
+        return loading.size();
+    }
+    
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+    
+    public long getDeadlineMissCount() {
+        return deadlineMisses.sum();
+    }
+    
+    public long getChunksLoadedCount() {
+        return chunksLoaded.sum();
+    }
+    
+    public double getAverageLoadMillis() {
+        long count = completed.sum();
+        return count == 0L ? 0.0 : loadNanos.sum() / (count * 1_000_000.0);
+    }
+    
+    public double getMaxLoadMillis() {
+        return maxLoadNanos.get() / 1_000_000.0;
+    }
+    
+    public void stop() {
+        if (taskId != -1) {
+            plugin.getServer().getScheduler().cancelTask(taskId);
+            taskId = -1;
+        }
+        loading.clear();
+        preloads.clear();
+        pinned.clear();
+        pinnedCount = 0;
+    }
+    
+    private void ensureRunning() {
+        if (taskId == -1) {
+            taskId = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L).getTaskId();
+        }
+    }
+    
+    private void tick() {
+        tick++;
+        int budget = plugin.getConfigManager().getChunkPreloadChunksPerTick();
+        List<Preload> ready = new ArrayList<>();
+        
+        for (Iterator<Preload> iterator = loading.iterator(); iterator.hasNext(); ) {
+            Preload preload = iterator.next();
+            budget = step(preload, budget);
+            
+            boolean loaded = preload.cursor == preload.keys.length;
+            if (loaded || tick >= preload.deadlineTick) {
+                iterator.remove();
+                finish(preload, !loaded);
+                ready.add(preload);
+            }
+        }
+        
+        for (Preload preload : ready) {
+            try {
+                preload.onReady.accept(preload);
+            } catch (Exception e) {
+                plugin.getLogger().warning("Error finishing chunk preload for arena " + preload.arenaName + ": " + e.getMessage());
+            }
+        }
+        
+        if (loading.isEmpty()) {
+            if (taskId != -1) {
+                plugin.getServer().getScheduler().cancelTask(taskId);
+                taskId = -1;
+            }
+        } else {
+            loading.addLast(loading.pollFirst());
+        }
+    }
+    
+    private int step(Preload preload, int budget) {
+        while (preload.cursor < preload.keys.length) {
+            World world = preload.worlds[preload.cursor];
+            long chunk = preload.keys[preload.cursor];
+            int x = chunkX(chunk);
+            int z = chunkZ(chunk);
+            if (!world.isChunkLoaded(x, z)) {
+                if (budget <= 0) {
+                    break;
+                }
+                
+                try {
+                    world.loadChunk(x, z);
+                    preload.loaded++;
+                    chunksLoaded.increment();
+                } catch (Exception e) {
+                    plugin.getLogger().warning("Failed to preload chunk " + x + "," + z + " for arena " + preload.arenaName + ": " + e.getMessage());
+                }
+                budget--;
+            }
+            preload.cursor++;
+        }
+        return budget;
+    }
+    
+    private void finish(Preload preload, boolean timedOut) {
+        preload.done = true;
+        preload.timedOut = timedOut;
+        preload.finishedAt = System.nanoTime();
+        
+        long nanos = preload.finishedAt - preload.startedAt;
+        completed.increment();
+        loadNanos.add(nanos);
+        maxLoadNanos.accumulateAndGet(nanos, Math::max);
+        if (timedOut) {
+            deadlineMisses.increment();
+            plugin.getLogger().warning("Chunk preload for arena " + preload.arenaName + " hit its deadline with " +
+                (preload.keys.length - preload.cursor) + "/" + preload.keys.length + " chunks pending");
+        } else if (plugin.getConfigManager().isDebugEnabled()) {
+            plugin.getLogger().info("Preloaded " + preload.loaded + "/" + preload.keys.length + " chunks for arena " +
+                preload.arenaName + " in " + preload.getElapsedMillis() + "ms");
+        }
+    }
+    
+    private void pin(World world, long chunk) {
+        Map<Long, Integer> worldPins = pinned.computeIfAbsent(world.getName(), name -> new HashMap<>());
+        if (worldPins.merge(chunk, 1, Integer::sum) == 1) {
+            pinnedCount++;
+        }
+    }
+    
+    private void unpin(World world, long chunk) {
+        Map<Long, Integer> worldPins = pinned.get(world.getName());
+        if (worldPins == null) {
+            return;
+        }
+        
+        Integer refs = worldPins.get(chunk);
+        if (refs == null) {
+            return;
+        }
+        if (refs > 1) {
+            worldPins.put(chunk, refs - 1);
+            return;
+        }
+        
+        worldPins.remove(chunk);
+        pinnedCount--;
+        if (worldPins.isEmpty()) {
+            pinned.remove(world.getName());
+        }
+    }
+    
+    private static String key(String arenaName) {
+        return arenaName.toLowerCase(Locale.ROOT);
+    }
+    
+    static long chunkKey(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+    
+    static int chunkX(long key) {
+        return (int) (key >> 32);
+    }
+    
+    static int chunkZ(long key) {
+        return (int) key;
+    }
+    
+    public static final class Preload {
+        private final String arenaName;
+        private final World[] worlds;
+        private final long[] keys;
+        private final Consumer<Preload> onReady;
+        private final long deadlineTick;
+        private final long startedAt = System.nanoTime();
+        private int cursor;
+        private int loaded;
+        private boolean done;
+        private boolean timedOut;
+        private long finishedAt;
+        
+        private Preload(String arenaName, Map<String, Map<Long, World>> chunks, Consumer<Preload> onReady, long deadlineTick) {
+            int size = chunks.values().stream().mapToInt(Map::size).sum();
+            this.arenaName = arenaName;
+            this.worlds = new World[size];
+            this.keys = new long[size];
+            this.onReady = onReady;
+            this.deadlineTick = deadlineTick;
+            
+            int i = 0;
+            for (Map<Long, World> worldChunks : chunks.values()) {
+                for (Map.Entry<Long, World> entry : worldChunks.entrySet()) {
+                    keys[i] = entry.getKey();
+                    worlds[i] = entry.getValue();
+                    i++;
+                }
+            }
+        }
+        
+        public String getArenaName() {
+            return arenaName;
+        }
+        
+        public int getChunkCount() {
+            return keys.length;
+        }
+        
+        public int getLoadedCount() {
+            return loaded;
+        }
+        
+        public boolean isTimedOut() {
+            return timedOut;
+        }
+        
+        public long getElapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis((done ? finishedAt : System.nanoTime()) - startedAt);
+        }
+    }
+}
@@ -4,7 +4,6 @@ import com.andrei1058.bedwars.api.arena.GameState;
 import com.andrei1058.bedwars.api.arena.IArena;
 import me.deyo.rbw.RBWPlugin;
 import me.deyo.rbw.handler.RBWTeamAssigner;
-import me.deyo.rbw.service.arena.ArenaService;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
@@ -17,22 +16,49 @@ import java.util.concurrent.ConcurrentHashMap;
 public class GameSetupService {
     
     private final RBWPlugin plugin;
-    private final ArenaService arenaService;
     
     private static final ConcurrentHashMap<String, RankedGame> arenaToGame = new ConcurrentHashMap<>();
-    private static final ConcurrentHashMap<String, CompletableFuture<Void>> arenaStartFutures = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, GameSetupSession> sessions = new ConcurrentHashMap<>();
+    private static final SetupMetrics setupMetrics = new SetupMetrics();
     
     public GameSetupService(RBWPlugin plugin) {
         this.plugin = plugin;
-        this.arenaService = new ArenaService(plugin);
     }
     
     public static ConcurrentHashMap<String, RankedGame> getArenaToGameMapping() {
         return arenaToGame;
     }
     
-    public static ConcurrentHashMap<String, CompletableFuture<Void>> getArenaStartFutures() {
-        return arenaStartFutures;
+    public static GameSetupSession getSession(String arenaName) {
+        return sessions.get(arenaName);
+    }
+    
+    public static SetupMetrics getSetupMetrics() {
+        return setupMetrics;
+    }
+    
+    public static void handleStateChange(RBWPlugin plugin, IArena arena, GameState newState) {
+        GameSetupSession session = sessions.get(arena.getArenaName());
+        if (session == null) {
+            return;
+        }
+        
+        if (newState == GameState.playing) {
+            if (session.advance(GameSetupSession.Phase.STARTING, GameSetupSession.Phase.PLAYING)) {
+                sessions.remove(arena.getArenaName(), session);
+                if (!plugin.getArenaLeaseManager().confirm(arena.getArenaName(), session.getGameId())) {
+                    plugin.getLogger().warning("Game " + session.getGameId() + " started in arena " + arena.getArenaName() +
+                        " without holding a live lease on it");
+                }
+                plugin.getChunkPreloader().release(arena.getArenaName());
+                setupMetrics.recordFinished(session, true, false);
+                session.getPromise().complete(null);
+                plugin.getLogger().info("Game " + session.getGameId() + " started in arena " + arena.getArenaName() +
+                    " after " + session.getTotalMillis() + "ms");
+            }
+        } else if (newState == GameState.waiting && session.getPhase() == GameSetupSession.Phase.STARTING) {
+            new GameSetupService(plugin).failSession(session, arena, "Start countdown was aborted", false);
+        }
     }
     
     public static Result setupGame(RBWPlugin plugin, String preferredMapName, List<String> team1, List<String> team2, boolean isRanked, String gameId) {
@@ -41,6 +67,8 @@ public class GameSetupService {
     }
     
     private Result setupGameInternal(String preferredMapName, List<String> team1, List<String> team2, boolean isRanked, String gameId) {
+        long startedAt = System.nanoTime();
+        IArena selectedArena = null;
         try {
             List<Player> team1Players = new ArrayList<>();
             List<Player> team2Players = new ArrayList<>();
@@ -76,7 +104,7 @@ public class GameSetupService {
             allPlayers.addAll(team1Players);
             allPlayers.addAll(team2Players);
             
-            IArena selectedArena = selectArena(preferredMapName, allPlayers.size());
+            selectedArena = selectArena(preferredMapName, allPlayers.size(), gameId);
             if (selectedArena == null) {
                 return new Result(false, "No available arena found", null, new ArrayList<>());
             }
@@ -93,25 +121,26 @@ public class GameSetupService {
                 preferredMapName != null && !preferredMapName.equals("random") ? List.of(preferredMapName) : null,
                 allPlayerNames, teamNames, gamePromise);
             
+            GameSetupSession session = new GameSetupSession(gameId, selectedArena.getArenaName(), gamePromise, startedAt);
             arenaToGame.put(selectedArena.getArenaName(), rankedGame);
-            arenaStartFutures.put(selectedArena.getArenaName(), gamePromise);
+            sessions.put(selectedArena.getArenaName(), session);
+            setupMetrics.recordStarted();
             
             selectedArena.setTeamAssigner(new RBWTeamAssigner());
             
             sendMessageToPlayersBefore(allPlayers.stream().map(Player::getName).toList(), selectedArena.getDisplayName());
             
-            warpAll(allPlayers, selectedArena);
+            warpAll(session, teams, selectedArena);
             
-            Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                if (selectedArena.getStatus() == GameState.waiting) {
-                    gamePromise.completeExceptionally(new RuntimeException("Game not getting started"));
-                    cancelArenaStart(selectedArena);
-                }
-            }, 30L);
-            
-            return new Result(true, "", selectedArena.getArenaName(), new ArrayList<>());
+            return new Result(true, "", selectedArena.getArenaName(), new ArrayList<>(), session);
             
         } catch (Exception e) {
+            if (selectedArena != null) {
+                arenaToGame.remove(selectedArena.getArenaName());
+                sessions.remove(selectedArena.getArenaName());
+                plugin.getChunkPreloader().release(selectedArena.getArenaName());
+                plugin.getArenaLeaseManager().release(selectedArena.getArenaName(), gameId);
+            }
             plugin.getLogger().severe("Error in game setup: " + e.getMessage());
             return new Result(false, "Internal error: " + e.getMessage(), null, new ArrayList<>());
         }
@@ -119,12 +148,15 @@ public class GameSetupService {
     
     private void cancelArenaStart(IArena arena) {
         try {
+            plugin.getWarpScheduler().cancel(arena.getArenaName());
+            plugin.getChunkPreloader().release(arena.getArenaName());
             for (Player player : new ArrayList<>(arena.getPlayers())) {
                 arena.removePlayer(player, false);
             }
             
-            arenaToGame.remove(arena.getArenaName());
-            arenaStartFutures.remove(arena.getArenaName());
+            RankedGame rankedGame = arenaToGame.remove(arena.getArenaName());
+            sessions.remove(arena.getArenaName());
+            plugin.getArenaLeaseManager().release(arena.getArenaName(), rankedGame != null ? rankedGame.getId() : null);
             
             plugin.getLogger().info("Cancelled arena start for: " + arena.getArenaName());
         } catch (Exception e) {
@@ -132,66 +164,63 @@ public class GameSetupService {
         }
     }
     
-    private void warpAll(List<Player> players, IArena arena) {
-        for (Player player : players) {
-            Bukkit.getScheduler().runTask(plugin, () -> {
-                IArena currentArena = plugin.getBedWarsAPI().getArenaUtil().getArenaByPlayer(player);
-                if (currentArena != null) {
-                    if (currentArena.isPlayer(player)) {
-                        currentArena.removePlayer(player, false);
-                    }
-                    if (currentArena.isSpectator(player)) {
-                        currentArena.removeSpectator(player, false);
-                    }
+    private void warpAll(GameSetupSession session, List<List<Player>> teams, IArena arena) {
+        session.advance(GameSetupSession.Phase.SELECTING, GameSetupSession.Phase.LOADING);
+        plugin.getChunkPreloader().preload(arena, preload -> {
+            if (!session.advance(GameSetupSession.Phase.LOADING, GameSetupSession.Phase.WARPING)) {
+                return;
+            }
+            
+            session.recordChunkLoad(preload.getChunkCount(), preload.getLoadedCount(), preload.isTimedOut());
+            scheduleTimeout(session, arena, GameSetupSession.Phase.WARPING, plugin.getConfigManager().getSetupWarpTimeoutTicks());
+            plugin.getWarpScheduler().schedule(session.getGameId(), arena, teams, () -> {
+                if (!session.advance(GameSetupSession.Phase.WARPING, GameSetupSession.Phase.STARTING)) {
+                    return;
+                }
+                
+                scheduleTimeout(session, arena, GameSetupSession.Phase.STARTING, plugin.getConfigManager().getSetupStartTimeoutTicks());
+                arena.changeStatus(GameState.starting);
+                if (arena.getStartingTask() != null && arena.getStartingTask().getCountdown() > 5) {
+                    arena.getStartingTask().setCountdown(5);
                 }
             });
-        }
-        
+        });
+    }
+    
+    private void scheduleTimeout(GameSetupSession session, IArena arena, GameSetupSession.Phase phase, long ticks) {
         Bukkit.getScheduler().runTaskLater(plugin, () -> {
-            for (Player player : players) {
-                arena.addPlayer(player, false);
+            if (session.getPhase() == phase) {
+                failSession(session, arena, "Timed out while " + phase.name().toLowerCase() + " after " + session.getPhaseMillis(phase) + "ms", true);
             }
-            arena.changeStatus(GameState.starting);
-            if (arena.getStartingTask().getCountdown() > 5) {
-                arena.getStartingTask().setCountdown(5);
-            }
-        }, 20L);
+        }, ticks);
     }
     
-    private IArena selectArena(String preferredMapName, int playerCount) {
-        List<IArena> availableArenas = arenaService.getAvailableRBWArenas();
-        
-        if (availableArenas.isEmpty()) {
-            plugin.getLogger().warning("No available RBW arenas found!");
-            return null;
+    private void failSession(GameSetupSession session, IArena arena, String reason, boolean timeout) {
+        if (!session.fail(reason)) {
+            return;
         }
         
-        List<IArena> suitableArenas = availableArenas.stream()
-            .filter(arena -> arena.getStatus() == GameState.waiting)
-            .filter(arena -> arena.getPlayers().isEmpty())
-            .filter(arena -> arena.getMaxPlayers() >= playerCount)
-            .filter(arena -> arena.getTeams().size() >= 2)
-            .toList();
-        
-        if (suitableArenas.isEmpty()) {
-            plugin.getLogger().warning("No suitable arenas found!");
-            return null;
+        setupMetrics.recordFinished(session, false, timeout);
+        plugin.getLogger().warning("Game " + session.getGameId() + " failed to start in arena " + arena.getArenaName() + ": " + reason);
+        if (sessions.get(arena.getArenaName()) == session) {
+            cancelArenaStart(arena);
         }
-        
-        if (preferredMapName != null && !preferredMapName.isEmpty() && !"random".equalsIgnoreCase(preferredMapName)) {
-            List<IArena> mapArenas = suitableArenas.stream()
-                .filter(arena -> preferredMapName.equalsIgnoreCase(arena.getArenaName()))
-                .toList();
-            
-            if (!mapArenas.isEmpty()) {
-                plugin.getLogger().info("Selected preferred arena: " + mapArenas.get(0).getArenaName());
-                return mapArenas.get(0);
-            } else {
-                plugin.getLogger().warning("Preferred arena '" + preferredMapName + "' not available, selecting alternative");
-            }
+        session.getPromise().completeExceptionally(new IllegalStateException(reason));
+    }
+    
+    private IArena selectArena(String preferredMapName, int playerCount, String gameId) {
+        IArena selectedArena = plugin.getArenaPrewarmer().claimReserved(preferredMapName, playerCount, gameId);
+        if (selectedArena == null) {
+            selectedArena = plugin.getArenaPool().claim(preferredMapName, playerCount, gameId);
+        }
+        if (selectedArena == null && preferredMapName != null) {
+            selectedArena = plugin.getArenaPrewarmer().claimReserved(null, playerCount, gameId);
+        }
+        if (selectedArena == null) {
+            plugin.getLogger().warning("No suitable RBW arenas found for " + playerCount + " players!");
+            return null;
         }
         
-        IArena selectedArena = suitableArenas.get((int) (Math.random() * suitableArenas.size()));
         plugin.getLogger().info("Selected arena: " + selectedArena.getArenaName());
         return selectedArena;
     }
@@ -212,12 +241,18 @@ public class GameSetupService {
         private final String message;
         private final String arenaName;
         private final List<String> offlinePlayers;
+        private final GameSetupSession session;
         
         public Result(boolean success, String message, String arenaName, List<String> offlinePlayers) {
+            this(success, message, arenaName, offlinePlayers, null);
+        }
+        
+        public Result(boolean success, String message, String arenaName, List<String> offlinePlayers, GameSetupSession session) {
             this.success = success;
             this.message = message;
             this.arenaName = arenaName;
             this.offlinePlayers = offlinePlayers == null ? new ArrayList<>() : new ArrayList<>(offlinePlayers);
+            this.session = session;
         }
         
         public boolean isSuccess() {
@@ -235,6 +270,10 @@ public class GameSetupService {
         public List<String> getOfflinePlayers() {
             return offlinePlayers;
         }
+        
+        public GameSetupSession getSession() {
+            return session;
+        }
     }
     
     public static class RankedGame {
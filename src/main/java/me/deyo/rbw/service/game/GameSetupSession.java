@@ -0,0 +1,121 @@
+package me.deyo.rbw.service.game;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class GameSetupSession {
+    
+    public enum Phase {
+        SELECTING,
+        LOADING,
+        WARPING,
+        STARTING,
+        PLAYING,
+        FAILED
+    }
+    
+    private final String gameId;
+    private final String arenaName;
+    private final CompletableFuture<Void> promise;
+    private final long[] enteredAt = new long[Phase.values().length];
+    private volatile Phase phase;
+    private volatile String failureReason;
+    private volatile int chunkCount;
+    private volatile int chunksLoaded;
+    private volatile boolean chunkDeadlineMissed;
+    
+    GameSetupSession(String gameId, String arenaName, CompletableFuture<Void> promise, long startedAt) {
+        this.gameId = gameId;
+        this.arenaName = arenaName;
+        this.promise = promise;
+        this.phase = Phase.SELECTING;
+        this.enteredAt[Phase.SELECTING.ordinal()] = startedAt;
+    }
+    
+    synchronized boolean advance(Phase from, Phase to) {
+        if (phase != from) {
+            return false;
+        }
+        
+        enteredAt[to.ordinal()] = System.nanoTime();
+        phase = to;
+        return true;
+    }
+    
+    synchronized boolean fail(String reason) {
+        if (phase == Phase.PLAYING || phase == Phase.FAILED) {
+            return false;
+        }
+        
+        enteredAt[Phase.FAILED.ordinal()] = System.nanoTime();
+        failureReason = reason;
+        phase = Phase.FAILED;
+        return true;
+    }
+    
+    void recordChunkLoad(int chunkCount, int chunksLoaded, boolean deadlineMissed) {
+        this.chunkCount = chunkCount;
+        this.chunksLoaded = chunksLoaded;
+        this.chunkDeadlineMissed = deadlineMissed;
+    }
+    
+    public synchronized long getPhaseNanos(Phase phase) {
+        int index = phase.ordinal();
+        if (enteredAt[index] == 0L) {
+            return 0L;
+        }
+        
+        long end = 0L;
+        for (int next = index + 1; next < enteredAt.length; next++) {
+            if (enteredAt[next] != 0L) {
+                end = enteredAt[next];
+                break;
+            }
+        }
+        return (end != 0L ? end : System.nanoTime()) - enteredAt[index];
+    }
+    
+    public long getPhaseMillis(Phase phase) {
+        return TimeUnit.NANOSECONDS.toMillis(getPhaseNanos(phase));
+    }
+    
+    public synchronized long getTotalMillis() {
+        long end = enteredAt[phase.ordinal()];
+        if (phase != Phase.PLAYING && phase != Phase.FAILED) {
+            end = System.nanoTime();
+        }
+        return TimeUnit.NANOSECONDS.toMillis(end - enteredAt[Phase.SELECTING.ordinal()]);
+    }
+    
+    public String getGameId() {
+        return gameId;
+    }
+    
+    public String getArenaName() {
+        return arenaName;
+    }
+    
+    public CompletableFuture<Void> getPromise() {
+        return promise;
+    }
+    
+    public Phase getPhase() {
+        return phase;
+    }
+    
+    public String getFailureReason() {
+        return failureReason;
+    }
+    
+    public int getChunkCount() {
+        return chunkCount;
+    }
+    
+    public int getChunksLoaded() {
+        return chunksLoaded;
+    }
+    
+    public boolean isChunkDeadlineMissed() {
+        return chunkDeadlineMissed;
+    }
+}
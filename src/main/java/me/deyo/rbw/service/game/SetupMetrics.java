@@ -0,0 +1,79 @@
+package me.deyo.rbw.service.game;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class SetupMetrics {
+    
+    private static final GameSetupSession.Phase[] PHASES = GameSetupSession.Phase.values();
+    
+    private final LongAdder started = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder[] phaseNanos = new LongAdder[PHASES.length];
+    private final LongAdder[] phaseCounts = new LongAdder[PHASES.length];
+    private final AtomicLongArray phaseMaxNanos = new AtomicLongArray(PHASES.length);
+    
+    public SetupMetrics() {
+        for (int i = 0; i < PHASES.length; i++) {
+            phaseNanos[i] = new LongAdder();
+            phaseCounts[i] = new LongAdder();
+        }
+    }
+    
+    void recordStarted() {
+        started.increment();
+    }
+    
+    void recordFinished(GameSetupSession session, boolean success, boolean timeout) {
+        if (success) {
+            succeeded.increment();
+        } else {
+            failed.increment();
+            if (timeout) {
+                timedOut.increment();
+            }
+        }
+        
+        for (GameSetupSession.Phase phase : PHASES) {
+            if (phase == GameSetupSession.Phase.PLAYING || phase == GameSetupSession.Phase.FAILED) {
+                continue;
+            }
+            long nanos = session.getPhaseNanos(phase);
+            if (nanos <= 0L) {
+                continue;
+            }
+            
+            int index = phase.ordinal();
+            phaseNanos[index].add(nanos);
+            phaseCounts[index].increment();
+            phaseMaxNanos.accumulateAndGet(index, nanos, Math::max);
+        }
+    }
+    
+    public long getStartedCount() {
+        return started.sum();
+    }
+    
+    public long getSucceededCount() {
+        return succeeded.sum();
+    }
+    
+    public long getFailedCount() {
+        return failed.sum();
+    }
+    
+    public long getTimedOutCount() {
+        return timedOut.sum();
+    }
+    
+    public double getAveragePhaseMillis(GameSetupSession.Phase phase) {
+        long count = phaseCounts[phase.ordinal()].sum();
+        return count == 0L ? 0.0 : phaseNanos[phase.ordinal()].sum() / (count * 1_000_000.0);
+    }
+    
+    public double getMaxPhaseMillis(GameSetupSession.Phase phase) {
+        return phaseMaxNanos.get(phase.ordinal()) / 1_000_000.0;
+    }
+}
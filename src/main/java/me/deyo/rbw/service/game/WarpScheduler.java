@@ -0,0 +1,298 @@
+package me.deyo.rbw.service.game;
+
+import com.andrei1058.bedwars.api.arena.IArena;
+import me.deyo.rbw.RBWPlugin;
+import me.deyo.rbw.core.outbound.OutboundJson;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+public class WarpScheduler {
+    
+    private static final String WARP_PROGRESS_PREFIX = OutboundJson.typePrefix("WARP_PROGRESS");
+    private static final String GAMEID_KEY = OutboundJson.key("gameid");
+    private static final String ARENA_KEY = OutboundJson.key("arena");
+    private static final String PHASE_KEY = OutboundJson.key("phase");
+    private static final String WARPED_KEY = OutboundJson.key("warped");
+    private static final String SKIPPED_KEY = OutboundJson.key("skipped");
+    private static final String TOTAL_KEY = OutboundJson.key("total");
+    
+    private final RBWPlugin plugin;
+    private final ArrayDeque<WarpBatch> batches = new ArrayDeque<>();
+    private long tick;
+    private int taskId = -1;
+    
+    public WarpScheduler(RBWPlugin plugin) {
+        this.plugin = plugin;
+    }
+    
+    public WarpBatch schedule(String gameId, IArena arena, List<List<Player>> teams, Runnable onComplete) {
+        WarpBatch batch = new WarpBatch(gameId, arena, interleave(teams), onComplete);
+        batches.addLast(batch);
+        ensureRunning();
+        return batch;
+    }
+    
+    static List<Player> interleave(List<List<Player>> teams) {
+        List<Player> order = new ArrayList<>();
+        int longest = 0;
+        for (List<Player> team : teams) {
+            longest = Math.max(longest, team.size());
+        }
+        for (int i = 0; i < longest; i++) {
+            for (List<Player> team : teams) {
+                if (i < team.size()) {
+                    order.add(team.get(i));
+                }
+            }
+        }
+        return order;
+    }
+    
+    public boolean cancel(String arenaName) {
+        for (Iterator<WarpBatch> iterator = batches.iterator(); iterator.hasNext(); ) {
+            WarpBatch batch = iterator.next();
+            if (batch.arena.getArenaName().equalsIgnoreCase(arenaName)) {
+                iterator.remove();
+                batch.phase = Phase.CANCELLED;
+                reportProgress(batch);
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    public boolean isPending(String arenaName) {
+        for (WarpBatch batch : batches) {
+            if (batch.arena.getArenaName().equalsIgnoreCase(arenaName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    public int getPendingGameCount() {
+        return batches.size();
+    }
+    
+    public int getPendingPlayerCount() {
+        int count = 0;
+        for (WarpBatch batch : batches) {
+            count += batch.order.size() - batch.addCursor;
+        }
+        return count;
+    }
+    
+    public void stop() {
+        if (taskId != -1) {
+            plugin.getServer().getScheduler().cancelTask(taskId);
+            taskId = -1;
+        }
+        batches.clear();
+    }
+    
+    private void ensureRunning() {
+        if (taskId == -1) {
+            taskId = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L).getTaskId();
+        }
+    }
+    
+    private void tick() {
+        tick++;
+        int budget = plugin.getConfigManager().getWarpPlayersPerTick();
+        List<WarpBatch> completed = new ArrayList<>();
+        
+        boolean progressed = true;
+        while (budget > 0 && progressed && !batches.isEmpty()) {
+            progressed = false;
+            for (Iterator<WarpBatch> iterator = batches.iterator(); iterator.hasNext() && budget > 0; ) {
+                WarpBatch batch = iterator.next();
+                int cost = step(batch);
+                if (cost >= 0) {
+                    progressed = true;
+                    budget -= cost;
+                }
+                if (batch.phase == Phase.DONE) {
+                    iterator.remove();
+                    completed.add(batch);
+                }
+            }
+        }
+        
+        for (WarpBatch batch : completed) {
+            complete(batch);
+        }
+        
+        for (WarpBatch batch : batches) {
+            if (batch.dirty) {
+                reportProgress(batch);
+            }
+        }
+        
+        if (batches.isEmpty()) {
+            if (taskId != -1) {
+                plugin.getServer().getScheduler().cancelTask(taskId);
+                taskId = -1;
+            }
+        } else {
+            batches.addLast(batches.pollFirst());
+        }
+    }
+    
+    private int step(WarpBatch batch) {
+        switch (batch.phase) {
+            case DEPART:
+                if (batch.departCursor == batch.order.size()) {
+                    batch.phase = batch.departed > 0 ? Phase.SETTLE : Phase.ARRIVE;
+                    batch.settleUntil = tick + plugin.getConfigManager().getWarpSettleTicks();
+                    return 0;
+                }
+                return depart(batch, batch.order.get(batch.departCursor++));
+            case SETTLE:
+                if (tick < batch.settleUntil) {
+                    return -1;
+                }
+                batch.phase = Phase.ARRIVE;
+                return 0;
+            case ARRIVE:
+                if (batch.addCursor == batch.order.size()) {
+                    batch.phase = Phase.DONE;
+                    return 0;
+                }
+                return arrive(batch, batch.order.get(batch.addCursor++));
+            default:
+                return -1;
+        }
+    }
+    
+    private int depart(WarpBatch batch, Player player) {
+        if (!player.isOnline()) {
+            return 0;
+        }
+        
+        IArena currentArena = plugin.getBedWarsAPI().getArenaUtil().getArenaByPlayer(player);
+        if (currentArena == null || currentArena == batch.arena) {
+            return 0;
+        }
+        
+        try {
+            if (currentArena.isPlayer(player)) {
+                currentArena.removePlayer(player, false);
+            }
+            if (currentArena.isSpectator(player)) {
+                currentArena.removeSpectator(player, false);
+            }
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to remove " + player.getName() + " from arena " + currentArena.getArenaName() + ": " + e.getMessage());
+        }
+        batch.departed++;
+        return 1;
+    }
+    
+    private int arrive(WarpBatch batch, Player player) {
+        batch.dirty = true;
+        if (!player.isOnline()) {
+            batch.skipped++;
+            return 0;
+        }
+        
+        try {
+            if (batch.arena.addPlayer(player, false)) {
+                batch.warped++;
+            } else {
+                batch.skipped++;
+            }
+        } catch (Exception e) {
+            batch.skipped++;
+            plugin.getLogger().warning("Failed to warp " + player.getName() + " into arena " + batch.arena.getArenaName() + ": " + e.getMessage());
+        }
+        return 1;
+    }
+    
+    private void complete(WarpBatch batch) {
+        reportProgress(batch);
+        if (plugin.getConfigManager().isDebugEnabled()) {
+            plugin.getLogger().info("Warped " + batch.warped + "/" + batch.order.size() + " players for game " + batch.gameId +
+                " in " + (tick - batch.scheduledAt) + " ticks");
+        }
+        
+        try {
+            batch.onComplete.run();
+        } catch (Exception e) {
+            plugin.getLogger().warning("Error finishing warp for game " + batch.gameId + ": " + e.getMessage());
+        }
+    }
+    
+    private void reportProgress(WarpBatch batch) {
+        batch.dirty = false;
+        if (plugin.getWebSocketManager() == null) {
+            return;
+        }
+        
+        String json = OutboundJson.start(WARP_PROGRESS_PREFIX)
+            .field(GAMEID_KEY, batch.gameId)
+            .field(ARENA_KEY, batch.arena.getArenaName())
+            .field(PHASE_KEY, batch.phase.name().toLowerCase())
+            .field(WARPED_KEY, batch.warped)
+            .field(SKIPPED_KEY, batch.skipped)
+            .field(TOTAL_KEY, batch.order.size())
+            .finish();
+        plugin.getWebSocketManager().sendCoalesced("WARP_PROGRESS", json, "WARP_PROGRESS:" + batch.gameId);
+    }
+    
+    private enum Phase {
+        DEPART,
+        SETTLE,
+        ARRIVE,
+        DONE,
+        CANCELLED
+    }
+    
+    public final class WarpBatch {
+        private final String gameId;
+        private final IArena arena;
+        private final List<Player> order;
+        private final Runnable onComplete;
+        private final long scheduledAt;
+        private Phase phase = Phase.DEPART;
+        private int departCursor;
+        private int addCursor;
+        private int departed;
+        private int warped;
+        private int skipped;
+        private long settleUntil;
+        private boolean dirty;
+        
+        private WarpBatch(String gameId, IArena arena, List<Player> order, Runnable onComplete) {
+            this.gameId = gameId;
+            this.arena = arena;
+            this.order = order;
+            this.onComplete = onComplete;
+            this.scheduledAt = tick;
+        }
+        
+        public String getGameId() {
+            return gameId;
+        }
+        
+        public List<Player> getOrder() {
+            return Collections.unmodifiableList(order);
+        }
+        
+        public int getWarped() {
+            return warped;
+        }
+        
+        public int getSkipped() {
+            return skipped;
+        }
+        
+        public int getTotal() {
+            return order.size();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package me.deyo.rbw.service.protocol;
+
+import me.deyo.rbw.RBWPlugin;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class InboundDispatcher {
+    
+    private final RBWPlugin plugin;
+    private final MessageLane[] lanes = MessageLane.values();
+    private final Queue<Runnable>[] laneTasks;
+    private final Map<String, AtomicReference<Runnable>> latestTasks = new ConcurrentHashMap<>();
+    private final AtomicInteger[] lanePending;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong superseded = new AtomicLong();
+    private final AtomicLong carriedOverTicks = new AtomicLong();
+    private volatile int highWaterMark;
+    private int taskId = -1;
+    
+    @SuppressWarnings("unchecked")
+    public InboundDispatcher(RBWPlugin plugin) {
+        this.plugin = plugin;
+        this.laneTasks = new Queue[lanes.length];
+        this.lanePending = new AtomicInteger[lanes.length];
+        for (int i = 0; i < lanes.length; i++) {
+            laneTasks[i] = new ConcurrentLinkedQueue<>();
+            lanePending[i] = new AtomicInteger();
+        }
+    }
+    
+    public void start() {
+        if (taskId != -1) {
+            stop();
+        }
+        
+        taskId = plugin.getServer().getScheduler().runTaskTimer(plugin, this::drain, 1L, 1L).getTaskId();
+    }
+    
+    public void stop() {
+        if (taskId != -1) {
+            plugin.getServer().getScheduler().cancelTask(taskId);
+            taskId = -1;
+        }
+        
+        int dropped = pending.getAndSet(0);
+        for (int i = 0; i < lanes.length; i++) {
+            laneTasks[i].clear();
+            lanePending[i].set(0);
+        }
+        for (AtomicReference<Runnable> slot : latestTasks.values()) {
+            slot.set(null);
+        }
+        if (dropped > 0) {
+            plugin.getLogger().warning("Discarded " + dropped + " pending bot messages on shutdown");
+        }
+    }
+    
+    public void submit(MessageLane lane, Runnable task) {
+        if (lane == MessageLane.INLINE) {
+            task.run();
+            return;
+        }
+        
+        laneTasks[lane.ordinal()].add(task);
+        lanePending[lane.ordinal()].incrementAndGet();
+        submitted.incrementAndGet();
+        int depth = pending.incrementAndGet();
+        if (depth > highWaterMark) {
+            highWaterMark = depth;
+        }
+    }
+    
+    public void supersede(MessageLane lane, String type, Runnable task) {
+        if (lane == MessageLane.INLINE) {
+            task.run();
+            return;
+        }
+        
+        AtomicReference<Runnable> slot = latestTasks.computeIfAbsent(type, key -> new AtomicReference<>());
+        if (slot.getAndSet(task) != null) {
+            superseded.incrementAndGet();
+            return;
+        }
+        
+        submit(lane, () -> {
+            Runnable latest = slot.getAndSet(null);
+            if (latest != null) {
+                latest.run();
+            }
+        });
+    }
+    
+    private Runnable pollNext() {
+        for (int i = 0; i < lanes.length; i++) {
+            Runnable task = laneTasks[i].poll();
+            if (task != null) {
+                lanePending[i].decrementAndGet();
+                pending.decrementAndGet();
+                return task;
+            }
+        }
+        return null;
+    }
+    
+    private void drain() {
+        long budgetNanos = (long) (plugin.getConfigManager().getInboundTickBudgetMs() * 1_000_000L);
+        long start = System.nanoTime();
+        
+        Runnable task;
+        while ((task = pollNext()) != null) {
+            try {
+                task.run();
+                executed.incrementAndGet();
+            } catch (Exception e) {
+                failed.incrementAndGet();
+                plugin.getLogger().warning("Error handling bot message: " + e.getMessage());
+            }
+            
+            if (System.nanoTime() - start >= budgetNanos) {
+                if (pending.get() > 0) {
+                    carriedOverTicks.incrementAndGet();
+                }
+                break;
+            }
+        }
+    }
+    
+    public int getPendingCount() {
+        return pending.get();
+    }
+    
+    public int getPendingCount(MessageLane lane) {
+        return lanePending[lane.ordinal()].get();
+    }
+    
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+    
+    public long getSubmittedCount() {
+        return submitted.get();
+    }
+    
+    public long getExecutedCount() {
+        return executed.get();
+    }
+    
+    public long getFailedCount() {
+        return failed.get();
+    }
+    
+    public long getSupersededCount() {
+        return superseded.get();
+    }
+    
+    public long getCarriedOverTicks() {
+        return carriedOverTicks.get();
+    }
+}
@@ -0,0 +1,214 @@
+package me.deyo.rbw.service.protocol;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import me.deyo.rbw.model.QueueInfo;
+
+import java.util.List;
+import java.util.Map;
+
+public abstract class InboundMessage {
+    
+    private final String type;
+    
+    protected InboundMessage(String type) {
+        this.type = type;
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public static class ServerStatus extends InboundMessage {
+        private final String status;
+        
+        public ServerStatus(String type, String status) {
+            super(type);
+            this.status = status;
+        }
+        
+        public String getStatus() { return status; }
+    }
+    
+    public static class Ping extends InboundMessage {
+        private final String requestId;
+        
+        public Ping(String type, String requestId) {
+            super(type);
+            this.requestId = requestId;
+        }
+        
+        public String getRequestId() { return requestId; }
+    }
+    
+    public static class Ack extends InboundMessage {
+        private final long seq;
+        
+        public Ack(String type, long seq) {
+            super(type);
+            this.seq = seq;
+        }
+        
+        public long getSeq() { return seq; }
+    }
+    
+    public static class WarpPlayers extends InboundMessage {
+        private final String requestId;
+        private final String gameId;
+        private final String mapName;
+        private final Boolean ranked;
+        private final List<String> team1;
+        private final List<String> team2;
+        
+        public WarpPlayers(String type, String requestId, String gameId, String mapName, Boolean ranked,
+                           List<String> team1, List<String> team2) {
+            super(type);
+            this.requestId = requestId;
+            this.gameId = gameId;
+            this.mapName = mapName;
+            this.ranked = ranked;
+            this.team1 = team1;
+            this.team2 = team2;
+        }
+        
+        public String getRequestId() { return requestId; }
+        public String getGameId() { return gameId; }
+        public String getMapName() { return mapName; }
+        public Boolean getRanked() { return ranked; }
+        public List<String> getTeam1() { return team1; }
+        public List<String> getTeam2() { return team2; }
+    }
+    
+    public static class QueueStatus extends InboundMessage {
+        private final Map<String, QueueInfo> queues;
+        private final long version;
+        
+        public QueueStatus(String type, Map<String, QueueInfo> queues, long version) {
+            super(type);
+            this.queues = queues;
+            this.version = version;
+        }
+        
+        public Map<String, QueueInfo> getQueues() { return queues; }
+        public long getVersion() { return version; }
+    }
+    
+    public static class QueueDelta extends InboundMessage {
+        private final long version;
+        private final List<QueueChange> changes;
+        
+        public QueueDelta(String type, long version, List<QueueChange> changes) {
+            super(type);
+            this.version = version;
+            this.changes = changes;
+        }
+        
+        public long getVersion() { return version; }
+        public List<QueueChange> getChanges() { return changes; }
+    }
+    
+    public static class QueueChange {
+        private final String queue;
+        private final String op;
+        private final String ign;
+        private final Integer capacity;
+        private final QueueInfo.EloRange eloRange;
+        
+        public QueueChange(String queue, String op, String ign, Integer capacity, QueueInfo.EloRange eloRange) {
+            this.queue = queue;
+            this.op = op;
+            this.ign = ign;
+            this.capacity = capacity;
+            this.eloRange = eloRange;
+        }
+        
+        public String getQueue() { return queue; }
+        public String getOp() { return op; }
+        public String getIgn() { return ign; }
+        public Integer getCapacity() { return capacity; }
+        public QueueInfo.EloRange getEloRange() { return eloRange; }
+    }
+    
+    public static class CheckPlayer extends InboundMessage {
+        private final String ign;
+        private final String requestId;
+        
+        public CheckPlayer(String type, String ign, String requestId) {
+            super(type);
+            this.ign = ign;
+            this.requestId = requestId;
+        }
+        
+        public String getIgn() { return ign; }
+        public String getRequestId() { return requestId; }
+    }
+    
+    public static class PlayerStatus extends InboundMessage {
+        private final String ign;
+        private final boolean online;
+        private final String requestId;
+        
+        public PlayerStatus(String type, String ign, boolean online, String requestId) {
+            super(type);
+            this.ign = ign;
+            this.online = online;
+            this.requestId = requestId;
+        }
+        
+        public String getIgn() { return ign; }
+        public boolean isOnline() { return online; }
+        public String getRequestId() { return requestId; }
+    }
+    
+    public static class PlayerNotice extends InboundMessage {
+        private final String ign;
+        private final String requesterIgn;
+        private final String targetIgn;
+        private final String message;
+        private final String code;
+        private final String screenshareId;
+        private final String reason;
+        private final String error;
+        
+        public PlayerNotice(String type, String ign, String requesterIgn, String targetIgn, String message,
+                            String code, String screenshareId, String reason, String error) {
+            super(type);
+            this.ign = ign;
+            this.requesterIgn = requesterIgn;
+            this.targetIgn = targetIgn;
+            this.message = message;
+            this.code = code;
+            this.screenshareId = screenshareId;
+            this.reason = reason;
+            this.error = error;
+        }
+        
+        public String getIgn() { return ign; }
+        public String getRequesterIgn() { return requesterIgn; }
+        public String getTargetIgn() { return targetIgn; }
+        public String getMessage() { return message; }
+        public String getCode() { return code; }
+        public String getScreenshareId() { return screenshareId; }
+        public String getReason() { return reason; }
+        public String getError() { return error; }
+    }
+    
+    public static class Raw extends InboundMessage {
+        private final String frame;
+        private JsonObject json;
+        
+        public Raw(String type, String frame) {
+            super(type);
+            this.frame = frame;
+        }
+        
+        public String getFrame() { return frame; }
+        
+        public JsonObject getJson() {
+            if (json == null) {
+                json = new JsonParser().parse(frame).getAsJsonObject();
+            }
+            return json;
+        }
+    }
+}
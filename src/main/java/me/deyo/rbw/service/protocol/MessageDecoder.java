@@ -0,0 +1,436 @@
+package me.deyo.rbw.service.protocol;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import me.deyo.rbw.model.QueueInfo;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class MessageDecoder {
+    
+    private MessageDecoder() {
+    }
+    
+    @FunctionalInterface
+    public interface Decoder<T extends InboundMessage> {
+        T decode(String type, String frame) throws IOException;
+    }
+    
+    public static String normalizeType(String type) {
+        StringBuilder normalized = null;
+        for (int i = 0; i < type.length(); i++) {
+            char c = type.charAt(i);
+            char upper = Character.toUpperCase(c);
+            if (c == '_' || upper != c) {
+                if (normalized == null) {
+                    normalized = new StringBuilder(type.length());
+                    normalized.append(type, 0, i);
+                }
+                if (c != '_') {
+                    normalized.append(upper);
+                }
+            } else if (normalized != null) {
+                normalized.append(c);
+            }
+        }
+        return normalized != null ? normalized.toString() : type;
+    }
+    
+    public static String peekType(String frame) throws IOException {
+        JsonReader reader = newReader(frame);
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            throw new IOException("Expected a JSON object");
+        }
+        
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if ("type".equals(reader.nextName())) {
+                return readString(reader);
+            }
+            reader.skipValue();
+        }
+        return null;
+    }
+    
+    public static InboundMessage.Ping decodePing(String type, String frame) throws IOException {
+        return new InboundMessage.Ping(type, readStringField(newReader(frame), "request_id"));
+    }
+    
+    private static JsonReader newReader(String frame) {
+        JsonReader reader = new JsonReader(new StringReader(frame));
+        reader.setLenient(true);
+        return reader;
+    }
+    
+    public static InboundMessage.ServerStatus decodeServerStatus(String type, String frame) throws IOException {
+        JsonReader reader = newReader(frame);
+        String status = readStringField(reader, "status");
+        return new InboundMessage.ServerStatus(type, status != null ? status : "unknown");
+    }
+    
+    public static InboundMessage.Ack decodeAck(String type, String frame) throws IOException {
+        JsonReader reader = newReader(frame);
+        long seq = -1L;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if ("seq".equals(reader.nextName()) && reader.peek() != JsonToken.NULL) {
+                seq = reader.nextLong();
+            } else {
+                reader.skipValue();
+            }
+        }
+        return seq < 0L ? null : new InboundMessage.Ack(type, seq);
+    }
+    
+    public static InboundMessage.WarpPlayers decodeWarpPlayers(String type, String frame) throws IOException {
+        JsonReader reader = newReader(frame);
+        String requestId = null;
+        String gameId = null;
+        String mapName = null;
+        Boolean ranked = null;
+        List<String> team1 = new ArrayList<>();
+        List<String> team2 = new ArrayList<>();
+        
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "request_id":
+                    requestId = readString(reader);
+                    break;
+                case "game_id":
+                case "gameid":
+                    gameId = readString(reader);
+                    break;
+                case "map":
+                    mapName = readString(reader);
+                    break;
+                case "is_ranked":
+                    ranked = readBoolean(reader);
+                    break;
+                case "team1":
+                    team1 = readPlayerNames(reader);
+                    break;
+                case "team2":
+                    team2 = readPlayerNames(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        return new InboundMessage.WarpPlayers(type, requestId, gameId, mapName, ranked, team1, team2);
+    }
+    
+    public static InboundMessage.QueueStatus decodeQueueStatus(String type, String frame) throws IOException {
+        JsonReader reader = newReader(frame);
+        Map<String, QueueInfo> queues = null;
+        long version = 0L;
+        
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if ("queues".equals(name) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                queues = new HashMap<>();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String queueName = reader.nextName();
+                    queues.put(queueName, readQueueInfo(reader));
+                }
+                reader.endObject();
+            } else if ("version".equals(name) && reader.peek() != JsonToken.NULL) {
+                version = reader.nextLong();
+            } else {
+                reader.skipValue();
+            }
+        }
+        return new InboundMessage.QueueStatus(type, queues, version);
+    }
+    
+    private static QueueInfo readQueueInfo(JsonReader reader) throws IOException {
+        List<String> players = new ArrayList<>();
+        QueueInfo.EloRange eloRange = new QueueInfo.EloRange(0, 0);
+        int capacity = 0;
+        
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "players":
+                    players = readPlayerNames(reader);
+                    break;
+                case "elo_range":
+                    eloRange = readEloRange(reader);
+                    break;
+                case "capacity":
+                    capacity = readInt(reader, 0);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new QueueInfo(players, eloRange, capacity);
+    }
+    
+    public static InboundMessage.QueueDelta decodeQueueDelta(String type, String frame) throws IOException {
+        JsonReader reader = newReader(frame);
+        long version = -1L;
+        List<InboundMessage.QueueChange> changes = null;
+        
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if ("version".equals(name) && reader.peek() != JsonToken.NULL) {
+                version = reader.nextLong();
+            } else if ("changes".equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                changes = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                        changes.add(readQueueChange(reader));
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        return version < 0L || changes == null ? null : new InboundMessage.QueueDelta(type, version, changes);
+    }
+    
+    private static InboundMessage.QueueChange readQueueChange(JsonReader reader) throws IOException {
+        String queue = null;
+        String op = null;
+        String ign = null;
+        Integer capacity = null;
+        QueueInfo.EloRange eloRange = null;
+        
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "queue":
+                    queue = readString(reader);
+                    break;
+                case "op":
+                    op = readString(reader);
+                    break;
+                case "ign":
+                    ign = readString(reader);
+                    break;
+                case "capacity":
+                    capacity = readInt(reader, 0);
+                    break;
+                case "elo_range":
+                    eloRange = readEloRange(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new InboundMessage.QueueChange(queue, op, ign, capacity, eloRange);
+    }
+    
+    public static InboundMessage.CheckPlayer decodeCheckPlayer(String type, String frame) throws IOException {
+        JsonReader reader = newReader(frame);
+        String ign = null;
+        String requestId = null;
+        
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "ign":
+                    ign = readString(reader);
+                    break;
+                case "request_id":
+                    requestId = readString(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        return ign == null ? null : new InboundMessage.CheckPlayer(type, ign, requestId);
+    }
+    
+    public static InboundMessage.PlayerStatus decodePlayerStatus(String type, String frame) throws IOException {
+        JsonReader reader = newReader(frame);
+        String ign = null;
+        boolean online = false;
+        String requestId = null;
+        
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "ign":
+                    ign = readString(reader);
+                    break;
+                case "online":
+                    Boolean value = readBoolean(reader);
+                    online = value != null && value;
+                    break;
+                case "request_id":
+                    requestId = readString(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        return new InboundMessage.PlayerStatus(type, ign, online, requestId);
+    }
+    
+    public static InboundMessage.PlayerNotice decodePlayerNotice(String type, String frame) throws IOException {
+        JsonReader reader = newReader(frame);
+        String ign = null;
+        String requesterIgn = null;
+        String targetIgn = null;
+        String message = null;
+        String code = null;
+        String screenshareId = null;
+        String reason = null;
+        String error = null;
+        
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "ign":
+                    ign = readString(reader);
+                    break;
+                case "requester_ign":
+                    requesterIgn = readString(reader);
+                    break;
+                case "target_ign":
+                    targetIgn = readString(reader);
+                    break;
+                case "message":
+                    message = readString(reader);
+                    break;
+                case "code":
+                    code = readString(reader);
+                    break;
+                case "screenshare_id":
+                    screenshareId = readString(reader);
+                    break;
+                case "reason":
+                    reason = readString(reader);
+                    break;
+                case "error":
+                    error = readString(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        return new InboundMessage.PlayerNotice(type, ign, requesterIgn, targetIgn, message, code, screenshareId, reason, error);
+    }
+    
+    private static String readStringField(JsonReader reader, String field) throws IOException {
+        String value = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (field.equals(reader.nextName())) {
+                value = readString(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        return value;
+    }
+    
+    private static List<String> readPlayerNames(JsonReader reader) throws IOException {
+        List<String> names = new ArrayList<>();
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+            reader.skipValue();
+            return names;
+        }
+        
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                continue;
+            }
+            
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if ("ign".equals(reader.nextName())) {
+                    String ign = readString(reader);
+                    if (ign != null) {
+                        names.add(ign);
+                    }
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        reader.endArray();
+        return names;
+    }
+    
+    private static QueueInfo.EloRange readEloRange(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return new QueueInfo.EloRange(0, 0);
+        }
+        
+        int min = 0;
+        int max = 0;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "min":
+                    min = readInt(reader, 0);
+                    break;
+                case "max":
+                    max = readInt(reader, 0);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new QueueInfo.EloRange(min, max);
+    }
+    
+    private static String readString(JsonReader reader) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(reader.nextBoolean());
+        }
+        if (token != JsonToken.STRING && token != JsonToken.NUMBER) {
+            reader.skipValue();
+            return null;
+        }
+        return reader.nextString();
+    }
+    
+    private static Boolean readBoolean(JsonReader reader) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.BOOLEAN) {
+            return reader.nextBoolean();
+        }
+        if (token == JsonToken.STRING) {
+            return Boolean.parseBoolean(reader.nextString());
+        }
+        reader.skipValue();
+        return null;
+    }
+    
+    private static int readInt(JsonReader reader, int defaultValue) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.NUMBER || token == JsonToken.STRING) {
+            return reader.nextInt();
+        }
+        reader.skipValue();
+        return defaultValue;
+    }
+}
@@ -0,0 +1,7 @@
+package me.deyo.rbw.service.protocol;
+
+@FunctionalInterface
+public interface MessageHandler<T extends InboundMessage> {
+    
+    void handle(T message) throws Exception;
+}
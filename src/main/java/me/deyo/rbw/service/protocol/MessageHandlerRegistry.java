@@ -0,0 +1,113 @@
+package me.deyo.rbw.service.protocol;
+
+import me.deyo.rbw.RBWPlugin;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class MessageHandlerRegistry {
+    
+    private final RBWPlugin plugin;
+    private final Map<String, Registration<?>> registrations = new ConcurrentHashMap<>();
+    
+    public MessageHandlerRegistry(RBWPlugin plugin) {
+        this.plugin = plugin;
+    }
+    
+    public <T extends InboundMessage> void register(String type, MessageLane lane, MessageDecoder.Decoder<T> decoder, MessageHandler<T> handler) {
+        register(type, lane, false, decoder, handler);
+    }
+    
+    public <T extends InboundMessage> void register(String type, MessageLane lane, boolean latestOnly,
+                                                    MessageDecoder.Decoder<T> decoder, MessageHandler<T> handler) {
+        String normalizedType = MessageDecoder.normalizeType(type);
+        Registration<T> registration = new Registration<>(normalizedType, lane, latestOnly, decoder, handler);
+        if (registrations.put(normalizedType, registration) != null) {
+            plugin.getLogger().info("Replaced handler for message type: " + normalizedType);
+        }
+    }
+    
+    public void register(String type, MessageLane lane, MessageHandler<InboundMessage.Raw> handler) {
+        register(type, lane, false, InboundMessage.Raw::new, handler);
+    }
+    
+    public void unregister(String type) {
+        registrations.remove(MessageDecoder.normalizeType(type));
+    }
+    
+    public boolean isRegistered(String type) {
+        return registrations.containsKey(MessageDecoder.normalizeType(type));
+    }
+    
+    public boolean dispatch(String normalizedType, String frame, long receivedAt) throws Exception {
+        Registration<?> registration = registrations.get(normalizedType);
+        if (registration == null) {
+            return false;
+        }
+        
+        registration.dispatch(frame, receivedAt, plugin.getInboundDispatcher());
+        return true;
+    }
+    
+    public Collection<MessageTypeMetrics> getMetrics() {
+        List<MessageTypeMetrics> metrics = new ArrayList<>();
+        for (Registration<?> registration : registrations.values()) {
+            metrics.add(registration.metrics);
+        }
+        return metrics;
+    }
+    
+    private class Registration<T extends InboundMessage> {
+        private final MessageLane lane;
+        private final boolean latestOnly;
+        private final MessageDecoder.Decoder<T> decoder;
+        private final MessageHandler<T> handler;
+        private final MessageTypeMetrics metrics;
+        
+        private Registration(String type, MessageLane lane, boolean latestOnly, MessageDecoder.Decoder<T> decoder, MessageHandler<T> handler) {
+            this.lane = lane;
+            this.latestOnly = latestOnly;
+            this.decoder = decoder;
+            this.handler = handler;
+            this.metrics = new MessageTypeMetrics(type);
+        }
+        
+        private void dispatch(String frame, long receivedAt, InboundDispatcher dispatcher) throws Exception {
+            T message;
+            try {
+                message = decoder.decode(metrics.getType(), frame);
+            } catch (Exception e) {
+                metrics.recordParse(System.nanoTime() - receivedAt);
+                metrics.recordError();
+                throw e;
+            }
+            metrics.recordParse(System.nanoTime() - receivedAt);
+            
+            if (message == null) {
+                return;
+            }
+            
+            Runnable task = () -> handle(message);
+            if (latestOnly) {
+                dispatcher.supersede(lane, metrics.getType(), task);
+            } else {
+                dispatcher.submit(lane, task);
+            }
+        }
+        
+        private void handle(T message) {
+            long start = System.nanoTime();
+            try {
+                handler.handle(message);
+            } catch (Exception e) {
+                metrics.recordError();
+                plugin.getLogger().warning("Error handling " + metrics.getType() + " message: " + e.getMessage());
+            } finally {
+                metrics.recordHandler(System.nanoTime() - start);
+            }
+        }
+    }
+}
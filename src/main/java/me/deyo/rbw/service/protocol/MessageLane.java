@@ -0,0 +1,9 @@
+package me.deyo.rbw.service.protocol;
+
+public enum MessageLane {
+    
+    SETUP,
+    PLAYER,
+    BULK,
+    INLINE
+}
@@ -0,0 +1,74 @@
+package me.deyo.rbw.service.protocol;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class MessageTypeMetrics {
+    
+    private final String type;
+    private final LongAdder received = new LongAdder();
+    private final LongAdder handled = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder parseNanos = new LongAdder();
+    private final LongAdder handlerNanos = new LongAdder();
+    private volatile long maxHandlerNanos;
+    
+    public MessageTypeMetrics(String type) {
+        this.type = type;
+    }
+    
+    public void recordParse(long nanos) {
+        received.increment();
+        parseNanos.add(nanos);
+    }
+    
+    public void recordHandler(long nanos) {
+        handled.increment();
+        handlerNanos.add(nanos);
+        if (nanos > maxHandlerNanos) {
+            maxHandlerNanos = nanos;
+        }
+    }
+    
+    public void recordError() {
+        errors.increment();
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public long getReceivedCount() {
+        return received.sum();
+    }
+    
+    public long getHandledCount() {
+        return handled.sum();
+    }
+    
+    public long getErrorCount() {
+        return errors.sum();
+    }
+    
+    public double getErrorRate() {
+        long count = received.sum();
+        return count == 0L ? 0.0 : (double) errors.sum() / count;
+    }
+    
+    public double getAverageParseMicros() {
+        long count = received.sum();
+        return count == 0L ? 0.0 : parseNanos.sum() / (count * 1_000.0);
+    }
+    
+    public double getAverageHandlerMicros() {
+        long count = handled.sum();
+        return count == 0L ? 0.0 : handlerNanos.sum() / (count * 1_000.0);
+    }
+    
+    public double getMaxHandlerMillis() {
+        return maxHandlerNanos / 1_000_000.0;
+    }
+    
+    public long getTotalNanos() {
+        return parseNanos.sum() + handlerNanos.sum();
+    }
+}
@@ -126,8 +126,7 @@ public class ValidationService {
             }
         }
         
-        List<IArena> availableArenas = arenaService.getAvailableRBWArenas();
-        if (availableArenas.isEmpty()) {
+        if (plugin.getArenaPool().getAvailableCount() == 0) {
             result.addError("No available RBW arenas found");
             return result;
         }
@@ -0,0 +1,271 @@
+package me.deyo.rbw.tasks;
+
+import com.andrei1058.bedwars.api.arena.GameState;
+import com.andrei1058.bedwars.api.arena.IArena;
+import me.deyo.rbw.RBWPlugin;
+import me.deyo.rbw.core.ConfigManager;
+import me.deyo.rbw.model.QueueInfo;
+import me.deyo.rbw.model.QueueSnapshot;
+import me.deyo.rbw.service.arena.ArenaLeaseManager;
+import me.deyo.rbw.service.arena.ArenaPool;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class ArenaPrewarmer {
+    
+    public static final String ANY_GROUP = "*";
+    private static final String HOLDER_PREFIX = "prewarm:";
+    
+    private final RBWPlugin plugin;
+    private final Map<String, List<String>> reserved = new HashMap<>();
+    private final Map<String, Integer> gameSizes = new HashMap<>();
+    private volatile Map<String, Gauge> gauges = Collections.emptyMap();
+    private int taskId = -1;
+    
+    public ArenaPrewarmer(RBWPlugin plugin) {
+        this.plugin = plugin;
+    }
+    
+    public void start() {
+        if (taskId != -1) {
+            stop();
+        }
+        
+        if (!plugin.getConfigManager().isPrewarmEnabled()) {
+            return;
+        }
+        
+        long period = Math.max(1, plugin.getConfigManager().getPrewarmIntervalTicks());
+        taskId = plugin.getServer().getScheduler().runTaskTimer(plugin, () -> {
+            try {
+                update();
+            } catch (Exception e) {
+                plugin.getLogger().warning("Error pre-warming arenas: " + e.getMessage());
+            }
+        }, period, period).getTaskId();
+    }
+    
+    public void stop() {
+        if (taskId != -1) {
+            plugin.getServer().getScheduler().cancelTask(taskId);
+            taskId = -1;
+        }
+        
+        releaseAll();
+    }
+    
+    public void update() {
+        Map<String, Integer> forecast = forecast(plugin.getWebSocketManager().getLatestQueueSnapshot());
+        Map<String, Gauge> updated = new LinkedHashMap<>();
+        
+        for (String group : new ArrayList<>(reserved.keySet())) {
+            if (!forecast.containsKey(group)) {
+                trim(group, 0);
+            }
+        }
+        
+        for (Map.Entry<String, Integer> entry : forecast.entrySet()) {
+            String group = entry.getKey();
+            int target = entry.getValue();
+            
+            prune(group);
+            trim(group, target);
+            fill(group, target);
+            
+            int ready = reserved.getOrDefault(group, Collections.emptyList()).size();
+            updated.put(group, new Gauge(ready, target));
+            if (ready < target && plugin.getConfigManager().isDebugEnabled()) {
+                plugin.getLogger().info("Pre-warm deficit for " + group + ": " + ready + "/" + target + " arenas ready");
+            }
+        }
+        
+        gauges = Collections.unmodifiableMap(updated);
+    }
+    
+    Map<String, Integer> forecast(QueueSnapshot snapshot) {
+        ConfigManager config = plugin.getConfigManager();
+        double threshold = config.getPrewarmFillThreshold();
+        int headroom = config.getPrewarmHeadroom();
+        int maxReserved = config.getPrewarmMaxReserved();
+        
+        Map<String, Integer> forecast = new LinkedHashMap<>();
+        gameSizes.clear();
+        for (Map.Entry<String, QueueInfo> entry : snapshot.getQueues().entrySet()) {
+            QueueInfo queue = entry.getValue();
+            if (queue == null || queue.getCapacity() <= 0) {
+                continue;
+            }
+            
+            String group = groupFor(entry.getKey());
+            int games = queue.getPlayerCount() / queue.getCapacity();
+            int remainder = queue.getPlayerCount() % queue.getCapacity();
+            if (remainder > 0 && remainder >= Math.ceil(queue.getCapacity() * threshold)) {
+                games++;
+            }
+            
+            forecast.merge(group, games, Integer::sum);
+            gameSizes.merge(group, queue.getCapacity(), Math::max);
+        }
+        
+        for (Map.Entry<String, Integer> entry : forecast.entrySet()) {
+            entry.setValue(Math.min(maxReserved, entry.getValue() + headroom));
+        }
+        return forecast;
+    }
+    
+    private String groupFor(String queueName) {
+        String group = plugin.getConfigManager().getPrewarmQueueGroups().get(queueName.toLowerCase(Locale.ROOT));
+        return group != null ? group : ANY_GROUP;
+    }
+    
+    private void prune(String group) {
+        List<String> arenas = reserved.get(group);
+        if (arenas == null) {
+            return;
+        }
+        
+        ArenaLeaseManager leaseManager = plugin.getArenaLeaseManager();
+        long ttlMillis = leaseTtlMillis();
+        for (Iterator<String> iterator = arenas.iterator(); iterator.hasNext(); ) {
+            String arenaName = iterator.next();
+            IArena arena = plugin.getArenaPool().getArena(arenaName);
+            if (!isReady(arena) || !leaseManager.renew(arenaName, holder(group), ttlMillis)) {
+                iterator.remove();
+                leaseManager.release(arenaName, holder(group));
+            }
+        }
+    }
+    
+    private void trim(String group, int target) {
+        List<String> arenas = reserved.get(group);
+        if (arenas == null) {
+            return;
+        }
+        
+        while (arenas.size() > target) {
+            String arenaName = arenas.remove(arenas.size() - 1);
+            plugin.getArenaLeaseManager().release(arenaName, holder(group));
+        }
+        if (arenas.isEmpty()) {
+            reserved.remove(group);
+        }
+    }
+    
+    private void fill(String group, int target) {
+        ArenaPool arenaPool = plugin.getArenaPool();
+        int gameSize = gameSizes.getOrDefault(group, 0);
+        List<String> arenas = reserved.computeIfAbsent(group, key -> new ArrayList<>());
+        while (arenas.size() < target) {
+            IArena arena = ANY_GROUP.equals(group)
+                    ? arenaPool.claim(null, gameSize, holder(group))
+                    : arenaPool.claimInGroup(group, gameSize, holder(group));
+            if (arena == null) {
+                break;
+            }
+            arenas.add(arena.getArenaName());
+        }
+        if (arenas.isEmpty()) {
+            reserved.remove(group);
+        }
+    }
+    
+    public IArena claimReserved(String preferredMapName, int playerCount, String gameId) {
+        boolean preferred = preferredMapName != null && !preferredMapName.isEmpty() && !"random".equalsIgnoreCase(preferredMapName);
+        IArena best = null;
+        String bestGroup = null;
+        
+        for (Map.Entry<String, List<String>> entry : reserved.entrySet()) {
+            for (String arenaName : entry.getValue()) {
+                if (preferred && !arenaName.equalsIgnoreCase(preferredMapName)) {
+                    continue;
+                }
+                
+                IArena arena = plugin.getArenaPool().getArena(arenaName);
+                if (!isReady(arena) || arena.getMaxPlayers() < playerCount) {
+                    continue;
+                }
+                if (best == null || arena.getMaxPlayers() < best.getMaxPlayers()) {
+                    best = arena;
+                    bestGroup = entry.getKey();
+                }
+            }
+        }
+        
+        if (best == null) {
+            return null;
+        }
+        
+        reserved.get(bestGroup).remove(best.getArenaName());
+        if (!plugin.getArenaLeaseManager().transfer(best.getArenaName(), holder(bestGroup), gameId)) {
+            plugin.getArenaLeaseManager().release(best.getArenaName(), holder(bestGroup));
+            return null;
+        }
+        return best;
+    }
+    
+    public boolean isReserved(String arenaName) {
+        String holder = plugin.getArenaLeaseManager().getHolder(arenaName);
+        return holder != null && holder.startsWith(HOLDER_PREFIX);
+    }
+    
+    private void releaseAll() {
+        for (Map.Entry<String, List<String>> entry : reserved.entrySet()) {
+            for (String arenaName : entry.getValue()) {
+                plugin.getArenaLeaseManager().release(arenaName, holder(entry.getKey()));
+            }
+        }
+        reserved.clear();
+        gauges = Collections.emptyMap();
+    }
+    
+    private boolean isReady(IArena arena) {
+        return arena != null && arena.getStatus() == GameState.waiting && arena.getPlayers().isEmpty();
+    }
+    
+    private long leaseTtlMillis() {
+        long intervalMillis = plugin.getConfigManager().getPrewarmIntervalTicks() * 50L;
+        return Math.max(TimeUnit.SECONDS.toMillis(plugin.getConfigManager().getArenaLeaseTtlSeconds()), intervalMillis * 3);
+    }
+    
+    private static String holder(String group) {
+        return HOLDER_PREFIX + group;
+    }
+    
+    public Map<String, Gauge> getGauges() {
+        return gauges;
+    }
+    
+    public int getReservedCount() {
+        int count = 0;
+        for (List<String> arenas : reserved.values()) {
+            count += arenas.size();
+        }
+        return count;
+    }
+    
+    public static final class Gauge {
+        private final int ready;
+        private final int forecast;
+        
+        private Gauge(int ready, int forecast) {
+            this.ready = ready;
+            this.forecast = forecast;
+        }
+        
+        public int getReady() {
+            return ready;
+        }
+        
+        public int getForecast() {
+            return forecast;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package me.deyo.rbw.tasks;
+
+import me.deyo.rbw.RBWPlugin;
+import me.deyo.rbw.core.ConfigManager;
+import me.deyo.rbw.core.GameManager;
+import me.deyo.rbw.core.outbound.OutboundJson;
+import me.deyo.rbw.core.persistence.GameSnapshotFile;
+import me.deyo.rbw.core.persistence.PersistedGame;
+import me.deyo.rbw.model.Game;
+import me.deyo.rbw.model.PlayerStatsTable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+public class GameSnapshotTask {
+    
+    private static final String GAME_ABORTED_PREFIX = OutboundJson.typePrefix("GAME_ABORTED");
+    private static final String GAMEID_KEY = OutboundJson.key("gameid");
+    private static final String ARENA_KEY = OutboundJson.key("arena");
+    private static final String REASON_KEY = OutboundJson.key("reason");
+    private static final String STARTED_AT_KEY = OutboundJson.key("startedAt");
+    private static final String LAST_SNAPSHOT_AT_KEY = OutboundJson.key("lastSnapshotAt");
+    private static final String TEAM1_KEY = OutboundJson.key("team1");
+    private static final String TEAM2_KEY = OutboundJson.key("team2");
+    private static final String PLAYERS_KEY = OutboundJson.key("players");
+    private static final String KILLS_KEY = OutboundJson.key("kills");
+    private static final String DEATHS_KEY = OutboundJson.key("deaths");
+    private static final String BEDBROKEN_KEY = OutboundJson.key("bedbroken");
+    private static final String FINALKILLS_KEY = OutboundJson.key("finalkills");
+    private static final String DIAMONDS_KEY = OutboundJson.key("diamonds");
+    private static final String IRONS_KEY = OutboundJson.key("irons");
+    private static final String GOLD_KEY = OutboundJson.key("gold");
+    private static final String EMERALDS_KEY = OutboundJson.key("emeralds");
+    private static final String BLOCKSPLACED_KEY = OutboundJson.key("blocksplaced");
+    
+    private final RBWPlugin plugin;
+    private GameSnapshotFile snapshotFile;
+    private int taskId = -1;
+    
+    public GameSnapshotTask(RBWPlugin plugin) {
+        this.plugin = plugin;
+    }
+    
+    public void start() {
+        if (taskId != -1) {
+            stop();
+        }
+        
+        ConfigManager config = plugin.getConfigManager();
+        if (!config.isSnapshotEnabled()) {
+            return;
+        }
+        
+        GameSnapshotFile file = new GameSnapshotFile(
+                new File(plugin.getDataFolder(), "games.snapshot"),
+                config.getSnapshotPageSize(),
+                config.getSnapshotInitialPages());
+        try {
+            List<PersistedGame> orphaned = file.open();
+            snapshotFile = file;
+            reportOrphaned(orphaned);
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to open game snapshot file, active games will not survive restarts: " + e.getMessage());
+            return;
+        }
+        
+        long period = Math.max(1, config.getSnapshotIntervalSeconds()) * 20L;
+        taskId = plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, () -> {
+            try {
+                snapshot();
+            } catch (Exception e) {
+                plugin.getLogger().warning("Error writing game snapshot: " + e.getMessage());
+            }
+        }, period, period).getTaskId();
+    }
+    
+    public void stop() {
+        if (taskId != -1) {
+            plugin.getServer().getScheduler().cancelTask(taskId);
+            taskId = -1;
+        }
+        
+        if (snapshotFile != null) {
+            snapshot();
+            snapshotFile.close();
+            snapshotFile = null;
+        }
+    }
+    
+    public void snapshot() {
+        GameSnapshotFile file = snapshotFile;
+        if (file == null) {
+            return;
+        }
+        
+        GameManager gameManager = plugin.getGameManager();
+        int written = 0;
+        for (Game game : gameManager.getAllGames()) {
+            synchronized (file) {
+                if (gameManager.getGame(game.getGameId()) != game || !file.isDirty(game)) {
+                    continue;
+                }
+                
+                try {
+                    if (file.write(game)) {
+                        written++;
+                    }
+                } catch (IOException e) {
+                    plugin.getLogger().warning("Failed to snapshot game " + game.getGameId() + ": " + e.getMessage());
+                }
+            }
+        }
+        
+        if (written > 0) {
+            file.force();
+            if (plugin.getConfigManager().isDebugEnabled()) {
+                plugin.getLogger().info("Snapshotted " + written + " dirty games");
+            }
+        }
+    }
+    
+    public void forget(String gameId) {
+        GameSnapshotFile file = snapshotFile;
+        if (file != null) {
+            file.remove(gameId);
+        }
+    }
+    
+    private void reportOrphaned(List<PersistedGame> orphaned) {
+        if (orphaned.isEmpty()) {
+            return;
+        }
+        
+        plugin.getLogger().warning("Found " + orphaned.size() + " games interrupted by a shutdown, reporting them as aborted");
+        int retained = 0;
+        for (PersistedGame game : orphaned) {
+            if (plugin.getWebSocketManager() != null
+                    && plugin.getWebSocketManager().sendJournaled("GAME_ABORTED", buildAbortedPayload(game))) {
+                snapshotFile.remove(game.getGameId());
+                plugin.getLogger().info("Reported aborted game: " + game.getGameId() + " in arena: " + game.getArenaName());
+            } else {
+                retained++;
+            }
+        }
+        snapshotFile.force();
+        
+        if (retained > 0) {
+            plugin.getLogger().warning(retained + " aborted games could not be journaled to the outbox and will be reported again on the next start");
+        }
+    }
+    
+    String buildAbortedPayload(PersistedGame game) {
+        OutboundJson json = OutboundJson.start(GAME_ABORTED_PREFIX)
+            .field(GAMEID_KEY, game.getGameId())
+            .field(ARENA_KEY, game.getArenaName())
+            .field(REASON_KEY, "server_restart")
+            .field(STARTED_AT_KEY, game.getStartedAt())
+            .field(LAST_SNAPSHOT_AT_KEY, game.getSavedAt());
+        
+        appendNames(json, TEAM1_KEY, game.getTeam1Players());
+        appendNames(json, TEAM2_KEY, game.getTeam2Players());
+        
+        json.beginObject(PLAYERS_KEY);
+        for (int i = 0; i < game.getPlayerCount(); i++) {
+            json.beginObjectNamed(game.getPlayer(i))
+                .field(KILLS_KEY, game.get(i, PlayerStatsTable.Stat.KILLS))
+                .field(DEATHS_KEY, game.get(i, PlayerStatsTable.Stat.DEATHS))
+                .field(BEDBROKEN_KEY, game.get(i, PlayerStatsTable.Stat.BEDS_BROKEN) > 0)
+                .field(FINALKILLS_KEY, game.get(i, PlayerStatsTable.Stat.FINAL_KILLS))
+                .field(DIAMONDS_KEY, game.get(i, PlayerStatsTable.Stat.DIAMONDS))
+                .field(IRONS_KEY, game.get(i, PlayerStatsTable.Stat.IRONS))
+                .field(GOLD_KEY, game.get(i, PlayerStatsTable.Stat.GOLD))
+                .field(EMERALDS_KEY, game.get(i, PlayerStatsTable.Stat.EMERALDS))
+                .field(BLOCKSPLACED_KEY, game.get(i, PlayerStatsTable.Stat.BLOCKS_PLACED))
+                .endObject();
+        }
+        json.endObject();
+        
+        return json.finish();
+    }
+    
+    private void appendNames(OutboundJson json, String key, List<String> names) {
+        json.beginArray(key);
+        for (String name : names) {
+            json.element(name);
+        }
+        json.endArray();
+    }
+}
@@ -2,15 +2,19 @@ package me.deyo.rbw.tasks;
 
 import me.deyo.rbw.RBWPlugin;
 import me.deyo.rbw.model.QueueInfo;
+import me.deyo.rbw.model.QueueSnapshot;
 import me.deyo.rbw.utils.ActionBarUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
+import java.util.HashMap;
 import java.util.Map;
 
 public class QueueUpdater {
     
     private final RBWPlugin plugin;
+    private final Map<String, String> messageCache = new HashMap<>();
+    private long cachedVersion = -1L;
     private int taskId = -1;
     
     public QueueUpdater(RBWPlugin plugin) {
@@ -43,14 +47,17 @@ public class QueueUpdater {
             return;
         }
         
-        Map<String, QueueInfo> queues = plugin.getWebSocketManager().getLatestQueuesSnapshot();
-        if (queues.isEmpty()) {
+        QueueSnapshot snapshot = plugin.getWebSocketManager().getLatestQueueSnapshot();
+        if (snapshot.isEmpty()) {
             return;
         }
         
+        if (snapshot.hasChangedSince(cachedVersion)) {
+            rebuildMessages(snapshot);
+        }
+        
         for (Player player : Bukkit.getOnlinePlayers()) {
-            String playerName = player.getName();
-            String message = getQueueMessage(playerName, queues);
+            String message = getQueueMessage(player.getName(), snapshot);
             
             if (message != null && !message.isEmpty()) {
                 ActionBarUtils.send(player, message);
@@ -58,36 +65,27 @@ public class QueueUpdater {
         }
     }
     
-    private String getQueueMessage(String playerName, Map<String, QueueInfo> queues) {
-        String lowerPlayerName = playerName.toLowerCase();
-        Map.Entry<String, QueueInfo> playerQueue = null;
-        Map.Entry<String, QueueInfo> defaultQueue = null;
-        
-        for (Map.Entry<String, QueueInfo> entry : queues.entrySet()) {
+    void rebuildMessages(QueueSnapshot snapshot) {
+        messageCache.clear();
+        for (Map.Entry<String, QueueInfo> entry : snapshot.getQueues().entrySet()) {
             QueueInfo queueInfo = entry.getValue();
             if (queueInfo == null) continue;
             
-            if (defaultQueue == null) {
-                defaultQueue = entry;
-            }
-            
-            if (queueInfo.getPlayers().stream()
-                    .anyMatch(name -> name != null && name.toLowerCase().equals(lowerPlayerName))) {
-                playerQueue = entry;
-                break;
-            }
+            messageCache.put(entry.getKey(), String.format("Queue: %s \u0007 %d/%d \u0007 ELO %s",
+                    entry.getKey(),
+                    queueInfo.getPlayerCount(),
+                    queueInfo.getCapacity(),
+                    queueInfo.getEloRange().toString()));
         }
-        
-        Map.Entry<String, QueueInfo> selectedQueue = playerQueue != null ? playerQueue : defaultQueue;
-        if (selectedQueue == null) {
-            return null;
+        cachedVersion = snapshot.getVersion();
+    }
+    
+    String getQueueMessage(String playerName, QueueSnapshot snapshot) {
+        String queueName = snapshot.getQueueNameFor(playerName);
+        if (queueName == null) {
+            queueName = snapshot.getDefaultQueueName();
         }
         
-        QueueInfo queueInfo = selectedQueue.getValue();
-        return String.format("Queue: %s \u0007 %d/%d \u0007 ELO %s",
-                selectedQueue.getKey(),
-                queueInfo.getPlayerCount(),
-                queueInfo.getCapacity(),
-                queueInfo.getEloRange().toString());
+        return queueName != null ? messageCache.get(queueName) : null;
     }
 }
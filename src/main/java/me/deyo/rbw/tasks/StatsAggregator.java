@@ -0,0 +1,172 @@
+package me.deyo.rbw.tasks;
+
+import me.deyo.rbw.RBWPlugin;
+import me.deyo.rbw.core.GameManager;
+import me.deyo.rbw.model.Game;
+import me.deyo.rbw.model.PlayerStatsTable;
+import org.bukkit.Material;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class StatsAggregator {
+    
+    public static final int DIAMONDS = 0;
+    public static final int IRONS = 1;
+    public static final int GOLD = 2;
+    public static final int EMERALDS = 3;
+    public static final int BLOCKS_PLACED = 4;
+    
+    private static final PlayerStatsTable.Stat[] COLUMNS = {
+        PlayerStatsTable.Stat.DIAMONDS,
+        PlayerStatsTable.Stat.IRONS,
+        PlayerStatsTable.Stat.GOLD,
+        PlayerStatsTable.Stat.EMERALDS,
+        PlayerStatsTable.Stat.BLOCKS_PLACED
+    };
+    private static final int STRIDE = COLUMNS.length;
+    private static final Binding UNBOUND = new Binding(null, -1, -1);
+    
+    private final RBWPlugin plugin;
+    private final Map<String, Binding> bindings = new HashMap<>();
+    private final List<Binding> bound = new ArrayList<>();
+    private int[] deltas = new int[STRIDE * 64];
+    private int[] dirty = new int[64];
+    private int dirtyCount;
+    private int boundGeneration = -1;
+    private int taskId = -1;
+    
+    public StatsAggregator(RBWPlugin plugin) {
+        this.plugin = plugin;
+    }
+    
+    public void start() {
+        if (taskId != -1) {
+            stop();
+        }
+        
+        taskId = plugin.getServer().getScheduler().runTaskTimer(plugin, this::flush, 1L, 1L).getTaskId();
+    }
+    
+    public void stop() {
+        if (taskId != -1) {
+            plugin.getServer().getScheduler().cancelTask(taskId);
+            taskId = -1;
+        }
+        
+        flush();
+        clearBindings();
+    }
+    
+    public static int columnFor(Material type) {
+        if (type == Material.DIAMOND) {
+            return DIAMONDS;
+        } else if (type == Material.IRON_INGOT) {
+            return IRONS;
+        } else if (type == Material.GOLD_INGOT) {
+            return GOLD;
+        } else if (type == Material.EMERALD) {
+            return EMERALDS;
+        }
+        return -1;
+    }
+    
+    public void record(String playerName, int column, int amount) {
+        Binding binding = bind(playerName);
+        if (binding.index < 0) {
+            return;
+        }
+        
+        deltas[binding.index * STRIDE + column] += amount;
+        if (!binding.dirty) {
+            binding.dirty = true;
+            if (dirtyCount == dirty.length) {
+                dirty = Arrays.copyOf(dirty, dirtyCount * 2);
+            }
+            dirty[dirtyCount++] = binding.index;
+        }
+    }
+    
+    private Binding bind(String playerName) {
+        int generation = plugin.getGameManager().getGeneration();
+        if (generation != boundGeneration) {
+            flush();
+            clearBindings();
+            boundGeneration = generation;
+        }
+        
+        Binding binding = bindings.get(playerName);
+        if (binding == null) {
+            binding = createBinding(playerName);
+            bindings.put(playerName, binding);
+        }
+        return binding;
+    }
+    
+    private Binding createBinding(String playerName) {
+        GameManager gameManager = plugin.getGameManager();
+        Game game = gameManager.getGameByPlayer(playerName);
+        if (game == null) {
+            return UNBOUND;
+        }
+        
+        int slot = game.getStatsTable().getOrAssignSlot(playerName);
+        if (slot < 0) {
+            plugin.getLogger().warning("Stats table for game " + game.getGameId() + " is full, not tracking " + playerName);
+            return UNBOUND;
+        }
+        
+        int index = bound.size();
+        if ((index + 1) * STRIDE > deltas.length) {
+            deltas = Arrays.copyOf(deltas, deltas.length * 2);
+        }
+        Binding binding = new Binding(game, slot, index);
+        bound.add(binding);
+        return binding;
+    }
+    
+    public void flush() {
+        for (int i = 0; i < dirtyCount; i++) {
+            Binding binding = bound.get(dirty[i]);
+            PlayerStatsTable table = binding.game.getStatsTable();
+            int offset = binding.index * STRIDE;
+            for (int column = 0; column < STRIDE; column++) {
+                int delta = deltas[offset + column];
+                if (delta != 0) {
+                    table.add(binding.slot, COLUMNS[column], delta);
+                    deltas[offset + column] = 0;
+                }
+            }
+            binding.dirty = false;
+        }
+        dirtyCount = 0;
+    }
+    
+    private void clearBindings() {
+        bindings.clear();
+        bound.clear();
+    }
+    
+    public void forget(String playerName) {
+        Binding binding = bindings.get(playerName);
+        if (binding == UNBOUND) {
+            bindings.remove(playerName);
+        }
+    }
+    
+    private static final class Binding {
+        private final Game game;
+        private final int slot;
+        private final int index;
+        private boolean dirty;
+        
+        private Binding(Game game, int slot, int index) {
+            this.game = game;
+            this.slot = slot;
+            this.index = index;
+        }
+    }
+}